@@ -2,8 +2,10 @@ package com.salgados.RSalgados;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RSalgadosApplication {
 
 	public static void main(String[] args) {
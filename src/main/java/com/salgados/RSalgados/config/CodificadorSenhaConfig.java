@@ -0,0 +1,114 @@
+package com.salgados.RSalgados.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração do codificador de senhas.
+ *
+ * <p>As senhas são gravadas com prefixo de algoritmo ({@code {bcrypt}...})
+ * por um {@link DelegatingPasswordEncoder}. Hashes antigos, sem prefixo ou com
+ * força menor que a atual, são regravados no próximo login
+ * ({@code UserDetailsServiceImpl.updatePassword}).
+ *
+ * <p>Propriedades ({@code rsalgados.senhas.*}):
+ * <ul>
+ *   <li>{@code bcrypt-forca}: força fixa do BCrypt; 0 (padrão) calibra na subida</li>
+ *   <li>{@code alvo-ms}: tempo de hash desejado na calibração (padrão 250)</li>
+ *   <li>{@code threads}: hashes simultâneos (padrão metade dos processadores)</li>
+ *   <li>{@code fila}: hashes aguardando antes de recusar (padrão 16)</li>
+ *   <li>{@code tempo-maximo}: espera máxima por um hash (padrão 2s)</li>
+ * </ul>
+ *
+ * <p>Sem virtual threads quem espera pelo hash é uma thread do pool do
+ * Tomcat. Fila e espera pequenas limitam quantas delas ficam presas e por
+ * quanto tempo: no máximo {@code fila} requisições aguardando, cada uma por
+ * até {@code tempo-maximo}.
+ */
+@Configuration
+public class CodificadorSenhaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CodificadorSenhaConfig.class);
+
+    private static final String ID_BCRYPT = "bcrypt";
+
+    /** Força padrão do BCrypt no Spring Security; a calibração nunca fica abaixo dela. */
+    private static final int FORCA_MINIMA = 10;
+
+    private static final int FORCA_MAXIMA = 16;
+
+    @Bean
+    public CodificadorSenhaLimitado passwordEncoder(
+            @Value("${rsalgados.senhas.bcrypt-forca:0}") int forcaConfigurada,
+            @Value("${rsalgados.senhas.alvo-ms:250}") long alvoMs,
+            @Value("${rsalgados.senhas.threads:0}") int threads,
+            @Value("${rsalgados.senhas.fila:16}") int fila,
+            @Value("${rsalgados.senhas.tempo-maximo:PT2S}") Duration tempoMaximo,
+            MeterRegistry registry) {
+        int forca = forcaConfigurada > 0 ? forcaConfigurada : calibrarForca(Duration.ofMillis(alvoMs));
+        Gauge.builder("senhas.bcrypt.forca", () -> forca).register(registry);
+
+        DelegatingPasswordEncoder codificador = new DelegatingPasswordEncoder(
+                ID_BCRYPT, Map.of(ID_BCRYPT, new BCryptPasswordEncoder(forca)));
+        // Senhas gravadas antes do prefixo {bcrypt}
+        codificador.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(forca));
+
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                tamanhoPool, tamanhoPool, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                Thread.ofPlatform().name("hash-senha-", 0).daemon().factory());
+        // executor.queued, executor.active, executor.pool.size etc. com a tag name=senhas
+        ExecutorService monitorado = ExecutorServiceMetrics.monitor(registry, executor, "senhas");
+
+        return new CodificadorSenhaLimitado(codificador, monitorado, tempoMaximo, registry);
+    }
+
+    /**
+     * Escolhe a maior força do BCrypt cujo hash, nesta máquina, fica dentro do alvo.
+     *
+     * <p>Mede a força mínima (melhor de três, após aquecimento) e extrapola:
+     * cada ponto de força dobra o custo.
+     *
+     * @param alvo tempo de hash desejado
+     * @return força entre {@value #FORCA_MINIMA} e {@value #FORCA_MAXIMA}
+     */
+    static int calibrarForca(Duration alvo) {
+        BCryptPasswordEncoder referencia = new BCryptPasswordEncoder(FORCA_MINIMA);
+        referencia.encode("aquecimento");
+
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            referencia.encode("calibracao");
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+
+        int forca = FORCA_MINIMA;
+        long estimado = melhor;
+        while (forca < FORCA_MAXIMA && estimado * 2 <= alvo.toNanos()) {
+            forca++;
+            estimado *= 2;
+        }
+
+        log.info("BCrypt calibrado: força {} (~{} ms por hash, alvo {} ms)",
+                forca, TimeUnit.NANOSECONDS.toMillis(estimado), alvo.toMillis());
+        return forca;
+    }
+}
@@ -0,0 +1,99 @@
+package com.salgados.RSalgados.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} que executa o hash e a verificação de senhas em um
+ * executor próprio e limitado.
+ *
+ * <p>BCrypt é CPU pura: sem limite, uma rajada de logins ou cadastros ocupa
+ * todos os núcleos e as requisições de pedidos ficam sem CPU. Aqui no máximo
+ * {@code threads} hashes rodam ao mesmo tempo; os excedentes esperam em uma
+ * fila limitada e, com a fila cheia, a operação falha na hora em vez de
+ * acumular. A thread da requisição só espera pelo resultado (com virtual
+ * threads essa espera não prende uma thread de plataforma).
+ *
+ * <p>{@link #upgradeEncoding} não calcula hash e roda direto na thread chamadora.
+ */
+public class CodificadorSenhaLimitado implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegado;
+    private final ExecutorService executor;
+    private final Duration tempoMaximo;
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+
+    /**
+     * @param delegado codificador que faz o trabalho
+     * @param executor executor limitado (threads e fila)
+     * @param tempoMaximo espera máxima, incluindo o tempo na fila
+     * @param registry registro de métricas
+     */
+    public CodificadorSenhaLimitado(PasswordEncoder delegado, ExecutorService executor,
+                                    Duration tempoMaximo, MeterRegistry registry) {
+        this.delegado = delegado;
+        this.executor = executor;
+        this.tempoMaximo = tempoMaximo;
+        this.tempoEncode = Timer.builder("senhas.hash").tag("operacao", "encode").register(registry);
+        this.tempoMatches = Timer.builder("senhas.hash").tag("operacao", "matches").register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> tempoEncode.record(() -> delegado.encode(senha)));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String codificada) {
+        return executar(() -> tempoMatches.record(() -> delegado.matches(senha, codificada)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String codificada) {
+        return delegado.upgradeEncoding(codificada);
+    }
+
+    /**
+     * Encerra o executor junto com o contexto da aplicação.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Supplier<T> operacao) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(operacao::get);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Fila de hash de senhas cheia", e);
+        }
+
+        try {
+            return resultado.get(tempoMaximo.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            throw new IllegalStateException("Tempo esgotado no hash de senha", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            resultado.cancel(true);
+            throw new IllegalStateException("Hash de senha interrompido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.salgados.RSalgados.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link DataSource} que limita quantas conexões podem estar em uso ao mesmo
+ * tempo, com uma fila justa (FIFO) na frente do pool.
+ *
+ * <p>Com virtual threads cada requisição ganha a sua thread, e centenas de
+ * requisições podem pedir conexão ao mesmo tempo a um pool de poucas conexões.
+ * O semáforo organiza essa espera em ordem de chegada, com o mesmo tempo
+ * máximo do pool, e torna visível quantas threads estão aguardando.
+ * A permissão é devolvida quando a conexão é fechada.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int limite;
+    private final Duration tempoMaximo;
+
+    /**
+     * @param alvo pool de conexões real
+     * @param limite conexões simultâneas permitidas
+     * @param tempoMaximo espera máxima por uma permissão
+     */
+    public DataSourceLimitado(DataSource alvo, int limite, Duration tempoMaximo) {
+        super(alvo);
+        this.permissoes = new Semaphore(limite, true);
+        this.limite = limite;
+        this.tempoMaximo = tempoMaximo;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        return liberarAoFechar(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        adquirir();
+        return liberarAoFechar(() -> super.getConnection(usuario, senha));
+    }
+
+    /**
+     * @return threads aguardando uma permissão (estimativa)
+     */
+    public int getAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    /**
+     * @return conexões em uso através deste limite
+     */
+    public int getEmUso() {
+        return limite - permissoes.availablePermits();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(tempoMaximo.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Nenhuma conexão disponível após " + tempoMaximo.toMillis() + " ms (limite " + limite + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    private Connection liberarAoFechar(FonteConexao fonte) throws SQLException {
+        Connection conexao;
+        try {
+            conexao = fonte.obter();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    // Métodos de Object respondem pelo proxy, como nos proxies de conexão do Spring
+                    switch (metodo.getName()) {
+                        case "equals" -> {
+                            return proxy == argumentos[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return "Conexão limitada [" + conexao + "]";
+                        }
+                        default -> {
+                        }
+                    }
+                    if (metodo.getName().equals("close") && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            permissoes.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface FonteConexao {
+        Connection obter() throws SQLException;
+    }
+}
@@ -0,0 +1,56 @@
+package com.salgados.RSalgados.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Coloca um {@link DataSourceLimitado} na frente de cada pool Hikari.
+ *
+ * <p>Ativado por {@code rsalgados.datasource.limite.habilitado=true} (o perfil
+ * {@code virtual-threads} liga). O limite padrão é o tamanho do pool e a espera
+ * máxima é o {@code connection-timeout} dele; ambos podem ser sobrescritos em
+ * {@code rsalgados.datasource.limite.*}, valendo para todos os pools.
+ *
+ * <p>Métricas: {@code datasource.limite.aguardando} e {@code datasource.limite.em-uso}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rsalgados.datasource.limite.habilitado", havingValue = "true")
+public class LimiteConexoesConfig {
+
+    @Bean
+    public static BeanPostProcessor limiteConexoesPostProcessor(Environment environment,
+                                                                ObjectProvider<MeterRegistry> registry) {
+        Integer limiteConfigurado = environment.getProperty("rsalgados.datasource.limite.conexoes", Integer.class);
+        Duration tempoConfigurado = environment.getProperty("rsalgados.datasource.limite.tempo-maximo", Duration.class);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+
+                int limite = limiteConfigurado != null ? limiteConfigurado : pool.getMaximumPoolSize();
+                Duration tempoMaximo = tempoConfigurado != null
+                        ? tempoConfigurado : Duration.ofMillis(pool.getConnectionTimeout());
+                DataSourceLimitado limitado = new DataSourceLimitado(pool, limite, tempoMaximo);
+                registry.ifAvailable(r -> {
+                    Gauge.builder("datasource.limite.aguardando", limitado, DataSourceLimitado::getAguardando)
+                            .tag("datasource", beanName).register(r);
+                    Gauge.builder("datasource.limite.em-uso", limitado, DataSourceLimitado::getEmUso)
+                            .tag("datasource", beanName).register(r);
+                });
+                return limitado;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.salgados.RSalgados.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Separa leitura e escrita entre dois pools: transações
+ * {@code @Transactional(readOnly = true)} vão para a réplica, as demais
+ * para o primário.
+ *
+ * <p>Ativado por {@code rsalgados.replica.habilitado=true} (perfil {@code replica}).
+ * Os pools são configurados em {@code rsalgados.replica.primario.*} e
+ * {@code rsalgados.replica.leitura.*} (propriedades do Hikari) e aparecem
+ * separados nas métricas {@code hikaricp.*} pela tag {@code pool}.
+ *
+ * <p>O {@link LazyConnectionDataSourceProxy} só pega a conexão física no
+ * primeiro comando SQL, quando o JPA já marcou a conexão como somente
+ * leitura; é isso que permite escolher o pool pela transação.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rsalgados.replica.habilitado", havingValue = "true")
+public class ReplicaLeituraConfig {
+
+    @Bean
+    @ConfigurationProperties("rsalgados.replica.primario")
+    public HikariDataSource dataSourcePrimario() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("rsalgados.replica.leitura")
+    public HikariDataSource dataSourceLeitura() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                 @Qualifier("dataSourceLeitura") DataSource leitura,
+                                 @Value("${rsalgados.replica.atraso-maximo:PT2S}") Duration atrasoMaximo,
+                                 MeterRegistry registry) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+        proxy.setReadOnlyDataSource(new RoteamentoLeituraDataSource(primario, leitura, atrasoMaximo, registry));
+        return proxy;
+    }
+
+    @Bean
+    public EscritaRecente escritaRecente() {
+        return new EscritaRecente();
+    }
+
+    /**
+     * Marca a sessão como recém-escrita quando qualquer transação de
+     * escrita é confirmada (pedidos, cadastro, catálogo, senha...).
+     *
+     * <p>O Spring Boot registra os {@link TransactionExecutionListener} do
+     * contexto no gerenciador de transações; só a transação mais externa
+     * conta, as que apenas participaram dela não são confirmadas à parte.
+     */
+    static class EscritaRecente implements TransactionExecutionListener {
+
+        @Override
+        public void afterCommit(TransactionExecution transacao, Throwable falha) {
+            if (falha == null && transacao.isNewTransaction() && !transacao.isReadOnly()) {
+                RoteamentoLeituraDataSource.registrarEscrita();
+            }
+        }
+    }
+}
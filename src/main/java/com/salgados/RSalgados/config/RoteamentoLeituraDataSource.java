@@ -0,0 +1,109 @@
+package com.salgados.RSalgados.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Destino das conexões somente leitura: a réplica, ou o primário quando a
+ * sessão HTTP acabou de escrever.
+ *
+ * <p>A réplica pode estar alguns instantes atrás do primário. Para o cliente
+ * ver o que acabou de gravar, a sessão que confirmou uma transação de
+ * escrita lê do primário durante {@code atrasoMaximo} (read-your-writes).
+ * Fora de uma requisição (jobs agendados, @Async) a leitura vai para a
+ * réplica, exceto dentro de {@link #lerDoPrimario}, usado pelas leituras
+ * que não toleram atraso nenhum.
+ *
+ * <p>Métrica: {@code datasource.leituras} com a tag {@code destino}.
+ */
+public class RoteamentoLeituraDataSource extends AbstractRoutingDataSource {
+
+    private static final String ATRIBUTO_ULTIMA_ESCRITA = RoteamentoLeituraDataSource.class.getName() + ".ultimaEscrita";
+
+    private static final ThreadLocal<Boolean> PRIMARIO_FORCADO = ThreadLocal.withInitial(() -> false);
+
+    private enum Destino { PRIMARIO, REPLICA }
+
+    private final Duration atrasoMaximo;
+    private final Counter leiturasPrimario;
+    private final Counter leiturasReplica;
+
+    /**
+     * @param primario pool do banco primário
+     * @param replica pool da réplica de leitura
+     * @param atrasoMaximo atraso de replicação tolerado; janela de leitura no primário após uma escrita
+     * @param registry registro de métricas
+     */
+    public RoteamentoLeituraDataSource(DataSource primario, DataSource replica,
+                                       Duration atrasoMaximo, MeterRegistry registry) {
+        this.atrasoMaximo = atrasoMaximo;
+        this.leiturasPrimario = registry.counter("datasource.leituras", "destino", "primario");
+        this.leiturasReplica = registry.counter("datasource.leituras", "destino", "replica");
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Marca que a sessão HTTP atual acabou de escrever no primário.
+     * Sem requisição em andamento, não faz nada.
+     */
+    public static void registrarEscrita() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos != null) {
+            atributos.setAttribute(ATRIBUTO_ULTIMA_ESCRITA, Instant.now(), RequestAttributes.SCOPE_SESSION);
+        }
+    }
+
+    /**
+     * Executa a leitura no primário, mesmo em transação somente leitura e
+     * sem escrita recente na sessão. Sem réplica configurada, só executa.
+     *
+     * <p>A conexão é escolhida no primeiro comando SQL da transação: o
+     * bloco precisa conter esse primeiro comando.
+     *
+     * @param leitura consulta a executar
+     * @return resultado da consulta
+     */
+    public static <T> T lerDoPrimario(Supplier<T> leitura) {
+        boolean anterior = PRIMARIO_FORCADO.get();
+        PRIMARIO_FORCADO.set(true);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior) {
+                PRIMARIO_FORCADO.set(true);
+            } else {
+                PRIMARIO_FORCADO.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PRIMARIO_FORCADO.get() || escritaRecente()) {
+            leiturasPrimario.increment();
+            return Destino.PRIMARIO;
+        }
+        leiturasReplica.increment();
+        return Destino.REPLICA;
+    }
+
+    private boolean escritaRecente() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return false;
+        }
+        Object ultimaEscrita = atributos.getAttribute(ATRIBUTO_ULTIMA_ESCRITA, RequestAttributes.SCOPE_SESSION);
+        return ultimaEscrita instanceof Instant instante && instante.plus(atrasoMaximo).isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,52 @@
+package com.salgados.RSalgados.controller;
+
+import com.salgados.RSalgados.service.eventos.EventoOutboxDispatcher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Controller REST de administração da outbox de eventos de pedido.
+ * 
+ * <p>Rota base: {@code /admin/eventos} (exige {@code ADMIN})
+ * 
+ * @author RSalgados Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@RestController
+@RequestMapping("/admin/eventos")
+public class AdminEventoController {
+
+    private final EventoOutboxDispatcher eventoOutboxDispatcher;
+
+    /**
+     * Construtor com injeção de dependências.
+     * 
+     * @param eventoOutboxDispatcher dispatcher da outbox
+     */
+    public AdminEventoController(EventoOutboxDispatcher eventoOutboxDispatcher) {
+        this.eventoOutboxDispatcher = eventoOutboxDispatcher;
+    }
+
+    /**
+     * Reenvia aos consumidores os eventos gravados no intervalo informado.
+     * 
+     * <p>Rota: {@code POST /admin/eventos/replay?desde=...&ate=...}
+     * (datas ISO-8601, ex.: {@code 2026-10-01T00:00:00Z}; {@code ate} padrão = agora)
+     * 
+     * @param desde início do intervalo (inclusive)
+     * @param ate fim do intervalo (exclusive)
+     * @return quantidade de eventos reenfileirados
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Integer>> replay(
+            @RequestParam Instant desde,
+            @RequestParam(required = false) Instant ate
+    ) {
+        int reenfileirados = eventoOutboxDispatcher.reenfileirar(desde, ate != null ? ate : Instant.now());
+        return ResponseEntity.accepted().body(Map.of("reenfileirados", reenfileirados));
+    }
+}
@@ -0,0 +1,78 @@
+package com.salgados.RSalgados.controller;
+
+import com.salgados.RSalgados.service.ExportacaoPedidosService;
+import com.salgados.RSalgados.service.ExportacaoPedidosService.Formato;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+/**
+ * Controller REST de exportação de dados (uso administrativo).
+ * 
+ * <p>Rota base: {@code /admin/exportacao} (exige {@code ADMIN})
+ * 
+ * <p>As respostas são geradas enquanto são enviadas: o download começa
+ * na hora e a memória usada não depende do tamanho do período.
+ * 
+ * @author RSalgados Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@RestController
+@RequestMapping("/admin/exportacao")
+public class AdminExportacaoController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportacaoPedidosService exportacaoPedidosService;
+
+    /**
+     * Construtor com injeção de dependências.
+     * 
+     * @param exportacaoPedidosService exportação de pedidos
+     */
+    public AdminExportacaoController(ExportacaoPedidosService exportacaoPedidosService) {
+        this.exportacaoPedidosService = exportacaoPedidosService;
+    }
+
+    /**
+     * Exporta os pedidos do intervalo, uma linha por item.
+     * 
+     * <p>Rota: {@code GET /admin/exportacao/pedidos?desde=...&ate=...&formato=CSV&gzip=true}
+     * (datas ISO-8601, ex.: {@code 2026-10-01T03:00:00Z}; {@code ate} padrão = agora)
+     * 
+     * @param desde início do intervalo (inclusive)
+     * @param ate fim do intervalo (exclusive)
+     * @param formato {@code CSV} (padrão) ou {@code NDJSON}
+     * @param gzip se o arquivo deve vir comprimido ({@code .gz})
+     * @return arquivo para download, gerado durante o envio
+     */
+    @GetMapping("/pedidos")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @RequestParam Instant desde,
+            @RequestParam(required = false) Instant ate,
+            @RequestParam(defaultValue = "CSV") Formato formato,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        Instant fim = ate != null ? ate : Instant.now();
+        if (!desde.isBefore(fim)) {
+            throw new IllegalArgumentException("Intervalo inválido: " + desde + " a " + fim);
+        }
+
+        String arquivo = "pedidos." + (formato == Formato.CSV ? "csv" : "ndjson") + (gzip ? ".gz" : "");
+        MediaType tipo = gzip ? GZIP : formato == Formato.CSV ? CSV : NDJSON;
+
+        StreamingResponseBody corpo = saida -> exportacaoPedidosService.exportar(desde, fim, formato, gzip, saida);
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+}
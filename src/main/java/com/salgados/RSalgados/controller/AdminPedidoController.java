@@ -0,0 +1,81 @@
+package com.salgados.RSalgados.controller;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.dto.pedidos.DivergenciaTotalDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.service.PedidoServiceImpl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controller REST de administração de pedidos.
+ * 
+ * <p>Reúne operações que não dependem do cliente autenticado,
+ * como o avanço do status de produção e a auditoria dos totais gravados.
+ * 
+ * <p><b>Segurança:</b> rotas sob {@code /admin/**} exigem a autoridade {@code ADMIN}
+ * (ver {@code SecurityConfig}).
+ * 
+ * <p>Rota base: {@code /admin/pedidos}
+ * 
+ * @author RSalgados Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@RestController
+@RequestMapping("/admin/pedidos")
+public class AdminPedidoController {
+
+    private final PedidoServiceImpl pedidoService;
+
+    /**
+     * Construtor com injeção de dependências.
+     * 
+     * @param pedidoService serviço para operações de pedidos
+     */
+    public AdminPedidoController(PedidoServiceImpl pedidoService) {
+        this.pedidoService = pedidoService;
+    }
+
+    /**
+     * Avança o status de produção de um pedido.
+     * 
+     * <p>Rota: {@code PUT /admin/pedidos/{id}/status?status=EM_PRODUCAO}
+     * 
+     * @param id UUID do pedido
+     * @param status próximo status do fluxo
+     * @return pedido atualizado em JSON
+     */
+    @PutMapping("/{id}/status")
+    public ResponseEntity<PedidoDTO> alterarStatus(@PathVariable UUID id, @RequestParam StatusPedido status) {
+        return ResponseEntity.ok(pedidoService.alterarStatus(id, status));
+    }
+
+    /**
+     * Lista os pedidos cujo total gravado diverge da soma dos itens.
+     * 
+     * <p>Rota: {@code GET /admin/pedidos/totais/divergencias}
+     * 
+     * @return divergências encontradas em JSON
+     */
+    @GetMapping("/totais/divergencias")
+    public ResponseEntity<List<DivergenciaTotalDTO>> buscarDivergenciasDeTotal() {
+        return ResponseEntity.ok(pedidoService.buscarDivergenciasDeTotal());
+    }
+
+    /**
+     * Recalcula o total de um pedido a partir dos itens persistidos.
+     * 
+     * <p>Rota: {@code POST /admin/pedidos/{id}/total/recalcular}
+     * 
+     * @param id UUID do pedido
+     * @return pedido com o total corrigido em JSON
+     */
+    @PostMapping("/{id}/total/recalcular")
+    public ResponseEntity<PedidoDTO> recalcularTotal(@PathVariable UUID id) {
+        return ResponseEntity.ok(pedidoService.recalcularTotal(id));
+    }
+}
@@ -0,0 +1,107 @@
+package com.salgados.RSalgados.controller;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.dto.pedidos.MudancasProducaoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoProducaoDTO;
+import com.salgados.RSalgados.dto.pedidos.PreparoProducaoDTO;
+import com.salgados.RSalgados.service.PreparoProducaoService;
+import com.salgados.RSalgados.service.ProducaoService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Controller REST do quadro de produção da cozinha.
+ *
+ * <p>Rota base: {@code /admin/producao} (exige {@code ADMIN})
+ *
+ * <p>Pensado para polling frequente: o quadro responde {@code 304 Not Modified}
+ * quando o {@code If-None-Match} bate com a versão atual, e o feed de mudanças
+ * devolve só os pedidos alterados desde o último cursor. O plano de preparo
+ * vem de contadores em memória, sem ler os pedidos abertos.
+ *
+ * @author RSalgados Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@RestController
+@RequestMapping("/admin/producao")
+public class AdminProducaoController {
+
+    private final ProducaoService producaoService;
+    private final PreparoProducaoService preparoProducaoService;
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param producaoService serviço do quadro de produção
+     * @param preparoProducaoService plano de preparo da cozinha
+     */
+    public AdminProducaoController(ProducaoService producaoService,
+                                   PreparoProducaoService preparoProducaoService) {
+        this.producaoService = producaoService;
+        this.preparoProducaoService = preparoProducaoService;
+    }
+
+    /**
+     * Lista os pedidos do quadro de produção.
+     *
+     * <p>Rota: {@code GET /admin/producao?status=EM_PRODUCAO&status=PRONTO}
+     *
+     * @param status status a exibir (padrão: {@code EM_PRODUCAO} e {@code PRONTO})
+     * @param webRequest requisição, usada para comparar o ETag
+     * @return pedidos do quadro, ou {@code 304} se nada mudou
+     */
+    @GetMapping
+    public ResponseEntity<List<PedidoProducaoDTO>> quadro(
+            @RequestParam(required = false) List<StatusPedido> status,
+            WebRequest webRequest
+    ) {
+        List<StatusPedido> filtro = status == null || status.isEmpty() ? ProducaoService.STATUS_PADRAO : status;
+
+        String etag = producaoService.calcularEtagQuadro(filtro);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(producaoService.listarQuadro(filtro));
+    }
+
+    /**
+     * Lista os pedidos alterados desde o cursor informado.
+     *
+     * <p>Rota: {@code GET /admin/producao/mudancas?cursor=&limite=}
+     *
+     * @param cursor cursor devolvido pela consulta anterior (opcional; ausente = desde o início)
+     * @param limite máximo de pedidos na resposta (padrão 100, máx. 500)
+     * @return mudanças e o cursor para a próxima consulta
+     */
+    @GetMapping("/mudancas")
+    public ResponseEntity<MudancasProducaoDTO> mudancas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limite
+    ) {
+        return ResponseEntity.ok(producaoService.listarMudancas(cursor, limite));
+    }
+
+    /**
+     * Unidades de cada item a produzir nos pedidos {@code CRIADO} e
+     * {@code EM_PRODUCAO}.
+     *
+     * <p>Rota: {@code GET /admin/producao/preparo}
+     *
+     * @return itens do maior total para o menor
+     */
+    @GetMapping("/preparo")
+    public ResponseEntity<PreparoProducaoDTO> preparo() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(preparoProducaoService.consultar());
+    }
+}
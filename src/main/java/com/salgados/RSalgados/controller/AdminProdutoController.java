@@ -0,0 +1,85 @@
+package com.salgados.RSalgados.controller;
+
+import com.salgados.RSalgados.dto.produtos.ProdutoDTO;
+import com.salgados.RSalgados.dto.produtos.SalvarProdutoDTO;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST do catálogo de produtos (uso administrativo).
+ *
+ * <p>Rota base: {@code /admin/produtos} (exige {@code ADMIN})
+ *
+ * <p>As alterações valem para os pedidos assim que a resposta é enviada:
+ * o catálogo em memória é recarregado depois do commit.
+ *
+ * @author RSalgados Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@RestController
+@RequestMapping("/admin/produtos")
+public class AdminProdutoController {
+
+    private final ProdutoService produtoService;
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param produtoService manutenção do catálogo
+     */
+    public AdminProdutoController(ProdutoService produtoService) {
+        this.produtoService = produtoService;
+    }
+
+    /**
+     * Rota: {@code GET /admin/produtos}
+     *
+     * @return todos os produtos, ativos e inativos
+     */
+    @GetMapping
+    public ResponseEntity<List<ProdutoDTO>> listar() {
+        return ResponseEntity.ok(produtoService.listar());
+    }
+
+    /**
+     * Rota: {@code POST /admin/produtos}
+     *
+     * @param dto nome e preço
+     * @return produto criado, com o ID a usar nos itens dos pedidos
+     */
+    @PostMapping
+    public ResponseEntity<ProdutoDTO> criar(@RequestBody SalvarProdutoDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(produtoService.criar(dto));
+    }
+
+    /**
+     * Rota: {@code PUT /admin/produtos/{id}}
+     *
+     * @param id ID do produto
+     * @param dto novos nome, preço e situação
+     * @return produto atualizado
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<ProdutoDTO> atualizar(@PathVariable Long id, @RequestBody SalvarProdutoDTO dto) {
+        return ResponseEntity.ok(produtoService.atualizar(id, dto));
+    }
+
+    /**
+     * Desativa o produto (não apaga: itens antigos continuam apontando para ele).
+     *
+     * <p>Rota: {@code DELETE /admin/produtos/{id}}
+     *
+     * @param id ID do produto
+     * @return 204 No Content
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> desativar(@PathVariable Long id) {
+        produtoService.desativar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.salgados.RSalgados.controller;
+
+import com.salgados.RSalgados.dto.vendas.PainelVendasDTO;
+import com.salgados.RSalgados.dto.vendas.ReconstrucaoVendasDTO;
+import com.salgados.RSalgados.service.vendas.PainelVendasService;
+import com.salgados.RSalgados.service.vendas.ResumoVendasAtualizador;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controller REST do painel de vendas.
+ * 
+ * <p>Rota base: {@code /admin/vendas} (exige {@code ADMIN})
+ * 
+ * <p>Os números vêm dos resumos diários, não dos pedidos: a consulta custa
+ * o mesmo com um mês ou dez anos de histórico.
+ * 
+ * @author RSalgados Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@RestController
+@RequestMapping("/admin/vendas")
+public class AdminVendasController {
+
+    private static final int DIAS_PADRAO = 30;
+
+    private final PainelVendasService painelVendasService;
+    private final ResumoVendasAtualizador resumoVendasAtualizador;
+
+    /**
+     * Construtor com injeção de dependências.
+     * 
+     * @param painelVendasService consultas do painel
+     * @param resumoVendasAtualizador manutenção dos resumos diários
+     */
+    public AdminVendasController(PainelVendasService painelVendasService,
+                                 ResumoVendasAtualizador resumoVendasAtualizador) {
+        this.painelVendasService = painelVendasService;
+        this.resumoVendasAtualizador = resumoVendasAtualizador;
+    }
+
+    /**
+     * Painel de vendas do período: totais por dia, por status/pagamento e
+     * os itens mais vendidos.
+     * 
+     * <p>Rota: {@code GET /admin/vendas?desde=2026-10-01&ate=2026-10-17&itens=10}
+     * 
+     * @param desde primeiro dia (padrão: 30 dias até {@code ate})
+     * @param ate último dia (padrão: hoje)
+     * @param itens tamanho do ranking de itens (padrão 10, máx. 100)
+     * @return painel em JSON
+     */
+    @GetMapping
+    public ResponseEntity<PainelVendasDTO> painel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(defaultValue = "10") int itens
+    ) {
+        LocalDate fim = ate != null ? ate : LocalDate.now(resumoVendasAtualizador.getFuso());
+        LocalDate inicio = desde != null ? desde : fim.minusDays(DIAS_PADRAO - 1);
+        return ResponseEntity.ok(painelVendasService.consultar(inicio, fim, itens));
+    }
+
+    /**
+     * Recalcula os resumos do período a partir dos pedidos, em segundo plano.
+     * 
+     * <p>Rota: {@code POST /admin/vendas/reconstrucao?desde=2026-01-01&ate=2026-10-17}
+     * 
+     * @param desde primeiro dia (inclusive)
+     * @param ate último dia (padrão: hoje)
+     * @return andamento inicial, com status 202 (Accepted)
+     */
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<ReconstrucaoVendasDTO> reconstruir(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate
+    ) {
+        LocalDate fim = ate != null ? ate : LocalDate.now(resumoVendasAtualizador.getFuso());
+        return ResponseEntity.accepted().body(resumoVendasAtualizador.agendarReconstrucao(desde, fim));
+    }
+
+    /**
+     * Andamento da última reconstrução agendada.
+     * 
+     * <p>Rota: {@code GET /admin/vendas/reconstrucao}
+     * 
+     * @return andamento em JSON, ou 204 se nenhuma foi agendada
+     */
+    @GetMapping("/reconstrucao")
+    public ResponseEntity<ReconstrucaoVendasDTO> andamentoReconstrucao() {
+        ReconstrucaoVendasDTO reconstrucao = resumoVendasAtualizador.getReconstrucao();
+        if (reconstrucao == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(reconstrucao);
+    }
+}
@@ -0,0 +1,76 @@
+package com.salgados.RSalgados.controller;
+
+import com.salgados.RSalgados.dto.pedidos.ImportacaoPedidosDTO;
+import com.salgados.RSalgados.service.ImportacaoPedidosService;
+import com.salgados.RSalgados.service.PedidoServiceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Controller REST de importação de pedidos em lote (CSV).
+ *
+ * <p>Rota base: {@code /pedido/api/importacoes}
+ *
+ * <p>O envio responde {@code 202 Accepted} assim que o arquivo é recebido;
+ * o andamento (linhas lidas, pedidos criados e erros por linha) é
+ * acompanhado pela consulta da importação.
+ *
+ * @author RSalgados Team
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@RestController
+@RequestMapping("/pedido/api/importacoes")
+public class ImportacaoPedidoController {
+
+    private final ImportacaoPedidosService importacaoPedidosService;
+    private final PedidoServiceImpl pedidoService;
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param importacaoPedidosService importação de pedidos em lote
+     * @param pedidoService serviço de pedidos (resolução do cliente autenticado)
+     */
+    public ImportacaoPedidoController(ImportacaoPedidosService importacaoPedidosService,
+                                      PedidoServiceImpl pedidoService) {
+        this.importacaoPedidosService = importacaoPedidosService;
+        this.pedidoService = pedidoService;
+    }
+
+    /**
+     * Inicia a importação de um CSV para o cliente autenticado.
+     *
+     * <p>Rota: {@code POST /pedido/api/importacoes} (multipart, campo {@code arquivo})
+     *
+     * @param arquivo CSV com cabeçalho {@code pedido,produto_id,quantidade}
+     * @return andamento inicial da importação
+     * @throws IOException se o arquivo não puder ser recebido
+     */
+    @PostMapping
+    public ResponseEntity<ImportacaoPedidosDTO> importar(@RequestParam MultipartFile arquivo) throws IOException {
+        if (arquivo.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo vazio");
+        }
+        ImportacaoPedidosDTO importacao = importacaoPedidosService.iniciar(pedidoService.getClienteIdAutenticado(), arquivo);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importacao);
+    }
+
+    /**
+     * Consulta o andamento de uma importação do cliente autenticado.
+     *
+     * <p>Rota: {@code GET /pedido/api/importacoes/{id}}
+     *
+     * @param id ID da importação
+     * @return andamento, contagens e erros por linha
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacaoPedidosDTO> consultar(@PathVariable UUID id) {
+        return ResponseEntity.ok(importacaoPedidosService.consultar(id, pedidoService.getClienteIdAutenticado()));
+    }
+}
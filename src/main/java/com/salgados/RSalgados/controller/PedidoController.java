@@ -2,19 +2,28 @@ package com.salgados.RSalgados.controller;
 
 import com.salgados.RSalgados.dto.pedidos.CriarItemPedidoDTO;
 import com.salgados.RSalgados.dto.pedidos.CriarPedidoDTO;
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
 import com.salgados.RSalgados.dto.pedidos.ItemPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.OperacaoItemDTO;
+import com.salgados.RSalgados.dto.pedidos.PaginaPedidosDTO;
 import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
 import com.salgados.RSalgados.dto.pedidos.PedidoListagemDTO;
+import com.salgados.RSalgados.dto.pedidos.ResultadoLoteItensDTO;
 import com.salgados.RSalgados.repository.ClienteRepository;
+import com.salgados.RSalgados.service.IdempotenciaService;
 import com.salgados.RSalgados.service.PedidoServiceImpl;
+import com.salgados.RSalgados.service.produtos.CatalogoProdutos;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -40,18 +49,27 @@ import java.util.UUID;
 @CrossOrigin
 public class PedidoController {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+
     private final PedidoServiceImpl pedidoService;
     private final ClienteRepository clienteRepository;
+    private final IdempotenciaService idempotenciaService;
+    private final CatalogoProdutos catalogoProdutos;
 
     /**
      * Construtor com injeção de dependências.
      * 
      * @param pedidoService serviço para operações de pedidos
      * @param clienteRepository repositório de clientes (não utilizado atualmente)
+     * @param idempotenciaService supressão de envios repetidos
+     * @param catalogoProdutos produtos oferecidos nos formulários
      */
-    public PedidoController(PedidoServiceImpl pedidoService, ClienteRepository clienteRepository) {
+    public PedidoController(PedidoServiceImpl pedidoService, ClienteRepository clienteRepository,
+                            IdempotenciaService idempotenciaService, CatalogoProdutos catalogoProdutos) {
         this.pedidoService = pedidoService;
         this.clienteRepository = clienteRepository;
+        this.idempotenciaService = idempotenciaService;
+        this.catalogoProdutos = catalogoProdutos;
     }
 
     // ===========================
@@ -59,17 +77,22 @@ public class PedidoController {
     // ===========================
 
     /**
-     * Lista todos os pedidos do cliente autenticado.
+     * Lista os pedidos do cliente autenticado, uma página por vez.
      * 
-     * <p>Rota: {@code GET /pedido}
+     * <p>Rota: {@code GET /pedido?cursor=...}
      * 
+     * @param cursor cursor da página a exibir (opcional; ausente = primeira página)
      * @param model modelo Spring MVC
-     * @return view {@code pedido/lista} com lista de pedidos
+     * @return view {@code pedido/lista} com a página de pedidos
      */
     @GetMapping("")
-    public String listar(Model model) {
+    public String listar(@RequestParam(required = false) String cursor, Model model) {
+        PaginaPedidosDTO pagina = pedidoService.listarPaginaPorClienteAutenticado(
+                cursor, null, null, TAMANHO_PAGINA_PADRAO);
+
         model.addAttribute("titulo", "Pedidos");
-        model.addAttribute("pedidos", pedidoService.listarPorClienteAutenticado());
+        model.addAttribute("pedidos", pagina.pedidos());
+        model.addAttribute("proximoCursor", pagina.proximoCursor());
         return "pedido/lista";
     }
 
@@ -77,6 +100,7 @@ public class PedidoController {
      * Exibe o formulário para criar um novo pedido.
      * 
      * <p>Inicializa um DTO vazio com um item em branco para facilitar o preenchimento.
+     * Os itens são escolhidos entre os produtos ativos do catálogo.
      * O clienteId é automaticamente preenchido com o usuário autenticado.
      * 
      * <p>Rota: {@code GET /pedido/novo}
@@ -87,12 +111,15 @@ public class PedidoController {
     @GetMapping("/novo")
     public String novoPedido(Model model) {
         CriarPedidoDTO dto = new CriarPedidoDTO();
-        dto.setClienteId(pedidoService.getClienteAutenticado().getId());
+        dto.setClienteId(pedidoService.getClienteIdAutenticado());
         dto.setItens(new ArrayList<>());
         dto.getItens().add(new CriarItemPedidoDTO());
 
         model.addAttribute("pedidoDTO", dto);
+        model.addAttribute("produtos", catalogoProdutos.listar());
         model.addAttribute("modoEdicao", false);
+        // Token do formulário: um duplo envio cria um único pedido
+        model.addAttribute("tokenIdempotencia", UUID.randomUUID().toString());
         return "pedido/novo";
     }
 
@@ -119,6 +146,7 @@ public class PedidoController {
         dto.setItens(pedido.itens().stream()
             .map(item -> {
                 CriarItemPedidoDTO itemDTO = new CriarItemPedidoDTO();
+                itemDTO.setId(item.id());
                 itemDTO.setDescricao(item.descricao());
                 itemDTO.setQuantidade(item.quantidade());
                 itemDTO.setValorUnitario(item.precoUnitario());
@@ -127,6 +155,7 @@ public class PedidoController {
             .collect(java.util.stream.Collectors.toList()));
 
         model.addAttribute("pedidoDTO", dto);
+        model.addAttribute("produtos", catalogoProdutos.listar());
         model.addAttribute("pedidoId", id);
         model.addAttribute("modoEdicao", true);
         return "pedido/novo";
@@ -138,16 +167,45 @@ public class PedidoController {
      * <p>O clienteId é automaticamente sobrescrito com o usuário autenticado
      * para garantir segurança (evita manipulação no formulário).
      * 
+     * <p>Envios repetidos com o mesmo {@code tokenIdempotencia} (gerado em
+     * {@code GET /pedido/novo}) não criam outro pedido.
+     * 
      * <p>Rota: {@code POST /pedido}
      * 
      * @param dto dados do pedido enviados pelo formulário
+     * @param tokenIdempotencia token do formulário (opcional)
      * @return redirect para {@code /pedido} após criação
      * @throws RuntimeException se cliente não encontrado
      */
     @PostMapping
-    public String criarPedido(@ModelAttribute CriarPedidoDTO dto) {
-        dto.setClienteId(pedidoService.getClienteAutenticado().getId());
-        pedidoService.criarPedido(dto);
+    public String criarPedido(
+            @ModelAttribute CriarPedidoDTO dto,
+            @RequestParam(required = false) String tokenIdempotencia
+    ) {
+        UUID clienteId = pedidoService.getClienteIdAutenticado();
+        idempotenciaService.executar("criar-pedido:" + clienteId, tokenIdempotencia, UUID.class, () -> {
+            dto.setClienteId(clienteId);
+            return pedidoService.criarPedido(dto).id();
+        });
+        return "redirect:/pedido";
+    }
+
+    /**
+     * Processa a edição de um pedido via formulário.
+     * 
+     * <p>Os itens trazem o ID dos que já existiam, para que apenas
+     * o que mudou seja gravado.
+     * 
+     * <p>Rota: {@code POST /pedido/{id}}
+     * 
+     * @param id UUID do pedido
+     * @param dto dados do pedido enviados pelo formulário
+     * @return redirect para {@code /pedido} após a atualização
+     * @throws RuntimeException se pedido não encontrado ou sem permissão
+     */
+    @PostMapping("/{id}")
+    public String salvarEdicao(@PathVariable UUID id, @ModelAttribute CriarPedidoDTO dto) {
+        pedidoService.atualizarPedido(id, dto);
         return "redirect:/pedido";
     }
 
@@ -160,27 +218,48 @@ public class PedidoController {
      * 
      * <p>Rota: {@code GET /pedido/api/{id}}
      * 
+     * <p>Responde {@code 304 Not Modified} quando o {@code If-None-Match} bate
+     * com a versão atual do pedido, sem carregar os itens.
+     * 
      * @param id UUID do pedido
-     * @return pedido completo em formato JSON
+     * @param webRequest requisição, usada para comparar o ETag
+     * @return pedido completo em formato JSON, ou {@code 304} se nada mudou
      */
     @GetMapping("/api/{id}")
     @ResponseBody
-    public ResponseEntity<PedidoDTO> buscarPorId(@PathVariable UUID id) {
-        return ResponseEntity.ok(pedidoService.buscarPorId(id));
+    public ResponseEntity<PedidoDTO> buscarPorId(@PathVariable UUID id, WebRequest webRequest) {
+        String etag = pedidoService.calcularEtagPedido(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(pedidoService.buscarPorId(id));
     }
 
     /**
      * Marca um pedido como pago.
      * 
+     * <p>Com o header {@code Idempotency-Key}, repetições com a mesma chave
+     * recebem a resposta da primeira chamada sem reprocessar o pagamento.
+     * 
      * <p>Rota: {@code PUT /pedido/api/{id}/pagar}
      * 
      * @param id UUID do pedido
+     * @param chaveIdempotencia valor do header {@code Idempotency-Key} (opcional)
      * @return pedido atualizado em JSON
      */
     @PutMapping("/api/{id}/pagar")
     @ResponseBody
-    public ResponseEntity<PedidoDTO> marcarComoPago(@PathVariable UUID id) {
-        return ResponseEntity.ok(pedidoService.marcarComoPago(id));
+    public ResponseEntity<PedidoDTO> marcarComoPago(
+            @PathVariable UUID id,
+            @RequestHeader(name = "Idempotency-Key", required = false) String chaveIdempotencia
+    ) {
+        return ResponseEntity.ok(idempotenciaService.executar(
+                "pagar:" + pedidoService.getClienteIdAutenticado() + ":" + id, chaveIdempotencia, PedidoDTO.class,
+                () -> pedidoService.marcarComoPago(id)));
     }
 
     /**
@@ -247,22 +326,66 @@ public class PedidoController {
     }
 
     /**
-     * Lista pedidos do cliente autenticado (API).
+     * Aplica várias operações de item (adicionar, atualizar, remover) em uma
+     * única transação.
+     * 
+     * <p>O lote é atômico: se alguma operação for inválida, nada é gravado.
      * 
-     * <p>Rota: {@code GET /pedido/api}
+     * <p>Rota: {@code POST /pedido/api/{id}/itens/lote}
      * 
-     * @return lista resumida de pedidos em JSON
+     * @param id UUID do pedido
+     * @param operacoes operações, na ordem em que devem ser aplicadas
+     * @return resultado por operação com status 200, ou 422 se o lote foi rejeitado
      */
-    @GetMapping("/api")
+    @PostMapping("/api/{id}/itens/lote")
     @ResponseBody
-    public ResponseEntity<java.util.List<PedidoListagemDTO>> listarPorCliente() {
-        return ResponseEntity.ok(pedidoService.listarPorClienteAutenticado());
+    public ResponseEntity<ResultadoLoteItensDTO> aplicarOperacoesItens(
+            @PathVariable UUID id,
+            @RequestBody List<OperacaoItemDTO> operacoes
+    ) {
+        ResultadoLoteItensDTO resultado = pedidoService.aplicarOperacoesItens(id, operacoes);
+        return ResponseEntity
+            .status(resultado.aplicado() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_CONTENT)
+            .body(resultado);
     }
 
     /**
-     * Lista todos os pedidos visíveis ao cliente autenticado.
+     * Lista pedidos do cliente autenticado (API), paginados por cursor.
+     * 
+     * <p>Rota: {@code GET /pedido/api?cursor=&status=&pago=&limite=}
+     * 
+     * <p>Para a próxima página, repita a chamada com o {@code proximoCursor}
+     * da resposta; ele é null na última página.
      * 
-     * <p>Atualmente retorna os mesmos dados que o endpoint padrão.
+     * @param cursor cursor devolvido pela página anterior (opcional)
+     * @param status filtro de status (opcional)
+     * @param pago filtro de pagamento (opcional)
+     * @param limite tamanho da página (padrão 20, máximo 100)
+     * @param webRequest requisição, usada para comparar o ETag
+     * @return página resumida de pedidos em JSON, ou {@code 304} se nada mudou
+     */
+    @GetMapping("/api")
+    @ResponseBody
+    public ResponseEntity<PaginaPedidosDTO> listarPorCliente(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) Boolean pago,
+            @RequestParam(defaultValue = "" + TAMANHO_PAGINA_PADRAO) int limite,
+            WebRequest webRequest
+    ) {
+        String etag = pedidoService.calcularEtagListagem();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(pedidoService.listarPaginaPorClienteAutenticado(cursor, status, pago, limite));
+    }
+
+    /**
+     * Lista todos os pedidos visíveis ao cliente autenticado, sem paginação.
      * 
      * <p>Rota: {@code GET /pedido/api/todos}
      * 
@@ -277,6 +400,9 @@ public class PedidoController {
     /**
      * Atualiza um pedido existente.
      * 
+     * <p>Itens com {@code id} são atualizados, itens sem {@code id} são
+     * inseridos e os ausentes da lista são removidos.
+     * 
      * <p>Rota: {@code PUT /pedido/api/{id}}
      * 
      * @param id UUID do pedido
@@ -0,0 +1,51 @@
+package com.salgados.RSalgados.domain.eventos;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Length;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Linha da outbox transacional de eventos de pedido.
+ * 
+ * <p>É gravada na mesma transação da alteração do pedido e entregue depois,
+ * em lotes, pelo {@code EventoOutboxDispatcher}. Enquanto {@code processadoEm}
+ * for nulo o evento está pendente.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "evento_outbox", indexes = {
+        @Index(name = "idx_evento_outbox_pendentes", columnList = "processado_em, id")
+})
+public class EventoOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_outbox_seq")
+    @SequenceGenerator(name = "evento_outbox_seq", sequenceName = "evento_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 40)
+    private String tipo;
+
+    @Column(name = "pedido_id", nullable = false)
+    private UUID pedidoId;
+
+    /** Evento serializado em JSON ({@code text}: sem limite de tamanho). */
+    @Column(nullable = false, length = Length.LONG32)
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "processado_em")
+    private Instant processadoEm;
+
+    @Column(nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(length = 500)
+    private String erro;
+}
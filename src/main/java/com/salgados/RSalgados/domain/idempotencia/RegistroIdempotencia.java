@@ -0,0 +1,64 @@
+package com.salgados.RSalgados.domain.idempotencia;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Resposta gravada de uma requisição com chave de idempotência.
+ * 
+ * <p>É a camada persistente do {@code IdempotenciaService}: sobrevive a
+ * reinícios e é compartilhada entre instâncias. Enquanto {@code resposta}
+ * for nula a requisição original ainda está em andamento.
+ *
+ * <p>O ID é atribuído pela aplicação; como {@link Persistable}, um registro
+ * novo é sempre inserido ({@code persist}), nunca mesclado sobre a reserva
+ * de outra instância com a mesma chave.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "registro_idempotencia", indexes = {
+        @Index(name = "idx_registro_idempotencia_expira", columnList = "expira_em")
+})
+public class RegistroIdempotencia implements Persistable<String> {
+    /** Escopo (operação + usuário) e chave enviada pelo cliente. */
+    @Id
+    @Column(length = 200)
+    private String chave;
+
+    /** Resposta serializada em JSON. */
+    @Column(length = 65_535)
+    private String resposta;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean novo = true;
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostPersist
+    @PostLoad
+    void marcarPersistido() {
+        novo = false;
+    }
+}
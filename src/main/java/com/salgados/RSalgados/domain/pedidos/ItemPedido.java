@@ -1,8 +1,11 @@
 package com.salgados.RSalgados.domain.pedidos;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
@@ -11,7 +14,11 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "item_pedido")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "itens-pedido")
+@Table(name = "item_pedido", indexes = {
+        @Index(name = "idx_item_pedido_pedido", columnList = "id_pedido")
+})
 public class ItemPedido {
     @Id
     @GeneratedValue
@@ -23,6 +30,10 @@ public class ItemPedido {
     @JoinColumn(name = "id_pedido", nullable = false)
     private Pedido pedido;
 
+    /** Produto do catálogo que originou o item; nulo para itens de texto livre. */
+    @Column(name = "produto_id")
+    private Long produtoId;
+
     @Column(nullable = false)
     private String descricao;
 
@@ -32,6 +43,16 @@ public class ItemPedido {
     @Column(name = "preco_unitario", nullable = false)
     private BigDecimal precoUnitario;
     
-    @Column(insertable = false, updatable = false)
+    /**
+     * Preço unitário x quantidade, calculado pelo banco (coluna gerada).
+     * Mapeado só para as consultas ({@code sum(i.subtotal)}): a entidade
+     * não relê a coluna depois de INSERT/UPDATE, então o valor carregado
+     * (e o do cache de segundo nível) pode estar desatualizado. Sem getter;
+     * em Java o subtotal é sempre preço x quantidade.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "numeric(38,2) generated always as (preco_unitario * quantidade)")
     private BigDecimal subtotal;
 }
\ No newline at end of file
@@ -4,10 +4,12 @@ import com.salgados.RSalgados.domain.usuarios.Cliente;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
-import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -15,7 +17,15 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "pedido")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pedidos")
+@Table(name = "pedido", indexes = {
+        @Index(name = "idx_pedido_cliente_data", columnList = "cliente_id, data_pedido, id"),
+        @Index(name = "idx_pedido_status_data", columnList = "status_pedido, data_pedido"),
+        @Index(name = "idx_pedido_atualizado", columnList = "atualizado_em, id"),
+        @Index(name = "idx_pedido_cliente_atualizado", columnList = "cliente_id, atualizado_em"),
+        @Index(name = "idx_pedido_data", columnList = "data_pedido")
+})
 public class Pedido {
     @Id
     @GeneratedValue
@@ -24,7 +34,7 @@ public class Pedido {
     private UUID id;
 
     @Column(name = "data_pedido", nullable = false)
-    private Timestamp dataPedido;
+    private Instant dataPedido;
 
     @Column(name = "valor_total", nullable = false)
     private BigDecimal valorTotal;
@@ -35,11 +45,19 @@ public class Pedido {
     @Enumerated(EnumType.STRING)
     private StatusPedido statusPedido;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
     private Cliente cliente;
 
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pedidos-itens")
     private List<ItemPedido> itens = new ArrayList<>();
 
     @PrePersist
@@ -48,10 +66,25 @@ public class Pedido {
             this.statusPedido = StatusPedido.CRIADO;
         }
         if (this.dataPedido == null) {
-            this.dataPedido = new java.sql.Timestamp(System.currentTimeMillis());
+            this.dataPedido = Instant.now();
         }
         if (this.pago == null) {
             this.pago = false;
         }
+        this.atualizadoEm = Instant.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.atualizadoEm = Instant.now();
+    }
+
+    /**
+     * Marca o pedido como alterado mesmo quando nenhum campo próprio mudou
+     * (ex.: troca de item sem efeito no total), para que a versão e
+     * {@code atualizadoEm} avancem no próximo flush.
+     */
+    public void registrarAlteracao() {
+        this.atualizadoEm = Instant.now();
     }
 }
\ No newline at end of file
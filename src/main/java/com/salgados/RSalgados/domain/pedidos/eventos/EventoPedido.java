@@ -0,0 +1,18 @@
+package com.salgados.RSalgados.domain.pedidos.eventos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento de domínio publicado pelo {@code PedidoServiceImpl} quando um pedido muda.
+ * 
+ * <p>Os eventos são publicados dentro da transação da operação; quem
+ * precisa de entrega garantida os lê da outbox ({@code EventoOutbox}).
+ */
+public sealed interface EventoPedido
+        permits PedidoCriado, PedidoPago, StatusAlterado, ItemAlterado {
+
+    UUID pedidoId();
+
+    Instant dataPedido();
+}
@@ -0,0 +1,28 @@
+package com.salgados.RSalgados.domain.pedidos.eventos;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Item adicionado (quantidade anterior 0), alterado ou removido (quantidade nova 0).
+ * 
+ * <p>{@code descricaoAnterior} difere de {@code descricao} quando o item
+ * troca de produto: a quantidade anterior sai do nome antigo e a nova
+ * entra no nome novo.
+ */
+public record ItemAlterado(
+    UUID pedidoId,
+    Instant dataPedido,
+    StatusPedido statusPedido,
+    Boolean pago,
+    UUID itemId,
+    String descricaoAnterior,
+    String descricao,
+    int quantidadeAnterior,
+    int quantidadeNova,
+    BigDecimal subtotalAnterior,
+    BigDecimal subtotalNovo
+) implements EventoPedido {}
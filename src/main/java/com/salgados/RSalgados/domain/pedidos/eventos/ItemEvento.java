@@ -0,0 +1,14 @@
+package com.salgados.RSalgados.domain.pedidos.eventos;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Resumo de um item do pedido carregado pelos eventos.
+ */
+public record ItemEvento(
+    UUID itemId,
+    String descricao,
+    int quantidade,
+    BigDecimal subtotal
+) {}
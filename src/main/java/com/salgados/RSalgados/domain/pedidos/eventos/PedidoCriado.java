@@ -0,0 +1,14 @@
+package com.salgados.RSalgados.domain.pedidos.eventos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record PedidoCriado(
+    UUID pedidoId,
+    UUID clienteId,
+    Instant dataPedido,
+    BigDecimal valorTotal,
+    List<ItemEvento> itens
+) implements EventoPedido {}
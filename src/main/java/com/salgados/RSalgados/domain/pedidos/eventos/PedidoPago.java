@@ -0,0 +1,14 @@
+package com.salgados.RSalgados.domain.pedidos.eventos;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record PedidoPago(
+    UUID pedidoId,
+    Instant dataPedido,
+    StatusPedido statusPedido,
+    BigDecimal valorTotal
+) implements EventoPedido {}
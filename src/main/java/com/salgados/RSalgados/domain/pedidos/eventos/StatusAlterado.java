@@ -0,0 +1,16 @@
+package com.salgados.RSalgados.domain.pedidos.eventos;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record StatusAlterado(
+    UUID pedidoId,
+    Instant dataPedido,
+    StatusPedido statusAnterior,
+    StatusPedido statusNovo,
+    Boolean pago,
+    BigDecimal valorTotal
+) implements EventoPedido {}
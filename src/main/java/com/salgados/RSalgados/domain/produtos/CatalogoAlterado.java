@@ -0,0 +1,7 @@
+package com.salgados.RSalgados.domain.produtos;
+
+/**
+ * Publicado quando um produto do catálogo é criado, alterado ou desativado.
+ * Depois do commit, o snapshot do catálogo é recarregado.
+ */
+public record CatalogoAlterado(Long produtoId) {}
@@ -3,6 +3,8 @@ package com.salgados.RSalgados.domain.usuarios;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
@@ -10,6 +12,8 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
 @Table(name = "usuarios")
 public class Usuario {
     @Id
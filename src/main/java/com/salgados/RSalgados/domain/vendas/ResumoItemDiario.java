@@ -0,0 +1,48 @@
+package com.salgados.RSalgados.domain.vendas;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Quantidade vendida e faturamento de um item (por descrição) em um dia.
+ * 
+ * <p>Mantido junto com {@link ResumoVendasDiario} pelo {@code ResumoVendasAtualizador}.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(ResumoItemDiario.Chave.class)
+@Table(name = "resumo_item_diario")
+public class ResumoItemDiario {
+    @Id
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Id
+    @Column(nullable = false)
+    private String descricao;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(name = "valor_total", nullable = false)
+    private BigDecimal valorTotal;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Chave implements Serializable {
+        private LocalDate dia;
+        private String descricao;
+    }
+}
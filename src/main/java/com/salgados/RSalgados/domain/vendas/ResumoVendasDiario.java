@@ -0,0 +1,57 @@
+package com.salgados.RSalgados.domain.vendas;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pedidos e faturamento de um dia, por status e situação de pagamento.
+ * 
+ * <p>Mantido incrementalmente pelo {@code ResumoVendasAtualizador} a partir
+ * dos eventos de pedido; o dia é o da data do pedido, no fuso
+ * {@code rsalgados.vendas.fuso}.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(ResumoVendasDiario.Chave.class)
+@Table(name = "resumo_vendas_diario")
+public class ResumoVendasDiario {
+    @Id
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_pedido", nullable = false)
+    private StatusPedido statusPedido;
+
+    @Id
+    @Column(nullable = false)
+    private Boolean pago;
+
+    @Column(name = "quantidade_pedidos", nullable = false)
+    private Long quantidadePedidos;
+
+    @Column(name = "valor_total", nullable = false)
+    private BigDecimal valorTotal;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Chave implements Serializable {
+        private LocalDate dia;
+        private StatusPedido statusPedido;
+        private Boolean pago;
+    }
+}
@@ -4,10 +4,19 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 @Getter
 @Setter
 public class CriarItemPedidoDTO {
+    /** ID do item já existente (edição); null para um item novo. */
+    private UUID id;
+    /**
+     * Produto do catálogo, obrigatório em itens novos: descrição e valor
+     * unitário vêm do catálogo e os enviados são ignorados. Só
+     * administradores criam itens avulsos, com descrição e valor próprios.
+     */
+    private Long produtoId;
     private String descricao;
     private Integer quantidade;
     private BigDecimal valorUnitario;
@@ -0,0 +1,16 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record DivergenciaTotalDTO(
+    UUID pedidoId,
+    BigDecimal valorRegistrado,
+    BigDecimal valorCalculado
+) {
+    public DivergenciaTotalDTO {
+        if (valorCalculado == null) {
+            valorCalculado = BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+/**
+ * Linha rejeitada de um arquivo de importação.
+ * 
+ * @param linha número da linha no arquivo (o cabeçalho é a linha 1)
+ * @param mensagem motivo da rejeição
+ */
+public record ErroImportacaoDTO(
+        long linha,
+        String mensagem
+) {}
@@ -0,0 +1,35 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Andamento de uma importação de pedidos em lote.
+ * 
+ * <p>Um pedido com qualquer linha inválida é rejeitado por inteiro; os
+ * demais pedidos do arquivo são gravados normalmente.
+ * 
+ * @param id ID da importação
+ * @param status situação atual
+ * @param linhasLidas linhas de dados lidas até agora (sem o cabeçalho)
+ * @param pedidosCriados pedidos gravados
+ * @param itensCriados itens gravados
+ * @param pedidosRejeitados pedidos não gravados por erro em alguma linha
+ * @param totalErros total de erros (a lista traz no máximo os primeiros 1000)
+ * @param erros erros por linha
+ * @param iniciadaEm início do processamento
+ * @param concluidaEm fim do processamento (null enquanto em andamento)
+ */
+public record ImportacaoPedidosDTO(
+        UUID id,
+        StatusImportacao status,
+        long linhasLidas,
+        long pedidosCriados,
+        long itensCriados,
+        long pedidosRejeitados,
+        long totalErros,
+        List<ErroImportacaoDTO> erros,
+        Instant iniciadaEm,
+        Instant concluidaEm
+) {}
@@ -0,0 +1,12 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+/**
+ * Unidades de um item a produzir: em pedidos {@code CRIADO} (aguardando)
+ * e {@code EM_PRODUCAO}.
+ */
+public record ItemPreparoDTO(
+    String descricao,
+    long aguardando,
+    long emProducao,
+    long total
+) {}
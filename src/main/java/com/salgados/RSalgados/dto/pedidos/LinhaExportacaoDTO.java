@@ -0,0 +1,23 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Linha da exportação de pedidos: um item com os dados do seu pedido.
+ * Pedidos sem itens saem em uma linha com os campos do item nulos.
+ */
+public record LinhaExportacaoDTO(
+    UUID pedidoId,
+    Instant dataPedido,
+    UUID clienteId,
+    String statusPedido,
+    Boolean pago,
+    BigDecimal valorTotal,
+    UUID itemId,
+    String descricao,
+    Integer quantidade,
+    BigDecimal precoUnitario,
+    BigDecimal subtotal
+) {}
@@ -0,0 +1,9 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.util.List;
+
+public record MudancasProducaoDTO(
+    List<PedidoProducaoDTO> pedidos,  // alterados após o cursor, em qualquer status
+    String cursor,                    // enviar na próxima consulta; igual ao recebido se nada mudou
+    boolean maisMudancas              // true se o limite cortou a resposta
+) {}
@@ -0,0 +1,23 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Uma operação do lote de itens.
+ * 
+ * <p>{@code itemId} é obrigatório em {@code ATUALIZAR} e {@code REMOVER};
+ * {@code produtoId} é obrigatório em {@code ADICIONAR} e, em
+ * {@code ATUALIZAR}, troca o produto do item. Descrição e preço vêm
+ * sempre do catálogo.
+ */
+@Getter
+@Setter
+public class OperacaoItemDTO {
+    private TipoOperacaoItem tipo;
+    private UUID itemId;
+    private Long produtoId;
+    private Integer quantidade;
+}
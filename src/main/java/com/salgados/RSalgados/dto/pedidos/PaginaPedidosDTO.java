@@ -0,0 +1,8 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.util.List;
+
+public record PaginaPedidosDTO(
+    List<PedidoListagemDTO> pedidos,
+    String proximoCursor  // null quando não há mais páginas
+) {}
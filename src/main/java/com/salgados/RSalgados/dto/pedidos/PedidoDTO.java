@@ -3,13 +3,13 @@ package com.salgados.RSalgados.dto.pedidos;
 import com.salgados.RSalgados.domain.pedidos.StatusPedido;
 
 import java.math.BigDecimal;
-import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 public record PedidoDTO(
     UUID id,
-    Timestamp dataPedido,
+    Instant dataPedido,
     BigDecimal valorTotal,
     Boolean pago,
     StatusPedido statusPedido,
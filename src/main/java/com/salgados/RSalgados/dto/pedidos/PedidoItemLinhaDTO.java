@@ -0,0 +1,25 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Linha da projeção pedido + item, uma por item (ou uma só, com campos
+ * de item nulos, para pedidos sem itens).
+ */
+public record PedidoItemLinhaDTO(
+    UUID pedidoId,
+    Instant dataPedido,
+    BigDecimal valorTotal,
+    Boolean pago,
+    StatusPedido statusPedido,
+    UUID clienteId,
+    UUID itemId,
+    String descricao,
+    Integer quantidade,
+    BigDecimal precoUnitario,
+    BigDecimal subtotal
+) {}
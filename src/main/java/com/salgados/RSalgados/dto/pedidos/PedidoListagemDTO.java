@@ -10,5 +10,6 @@ public record PedidoListagemDTO(
     String dataPedido,  // ← String já formatada
     BigDecimal valorTotal,
     Boolean pago,
-    StatusPedido statusPedido
+    StatusPedido statusPedido,
+    Long dataPedidoEpochMilli  // ← data crua, para clientes que formatam por conta própria
 ) {}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projeção com apenas as colunas usadas na listagem de pedidos.
+ */
+public record PedidoListagemLinhaDTO(
+    UUID id,
+    Instant dataPedido,
+    BigDecimal valorTotal,
+    Boolean pago,
+    StatusPedido statusPedido
+) {}
@@ -0,0 +1,20 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Pedido como exibido no quadro de produção da cozinha.
+ */
+public record PedidoProducaoDTO(
+    UUID id,
+    UUID clienteId,
+    Instant dataPedido,
+    StatusPedido statusPedido,
+    Boolean pago,
+    BigDecimal valorTotal,
+    Instant atualizadoEm
+) {}
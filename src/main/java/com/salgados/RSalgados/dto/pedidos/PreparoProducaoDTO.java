@@ -0,0 +1,12 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Plano de preparo da cozinha: itens a produzir, do maior total para o menor.
+ */
+public record PreparoProducaoDTO(
+    List<ItemPreparoDTO> itens,
+    Instant ultimaReconciliacao
+) {}
@@ -0,0 +1,12 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+/**
+ * Unidades de um item em pedidos de um status, agrupadas pela descrição.
+ */
+public record QuantidadePreparoDTO(
+    StatusPedido statusPedido,
+    String descricao,
+    Long quantidade
+) {}
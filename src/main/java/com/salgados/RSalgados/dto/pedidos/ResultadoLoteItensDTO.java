@@ -0,0 +1,23 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado da aplicação de um lote de operações sobre os itens de um pedido.
+ * 
+ * <p>O lote é atômico: se qualquer operação for inválida, nenhuma é aplicada
+ * e {@code aplicado} vem false, com o erro de cada operação rejeitada.
+ * 
+ * @param pedidoId ID do pedido
+ * @param aplicado true se todas as operações foram gravadas
+ * @param valorTotal total do pedido após o lote (inalterado se não aplicado)
+ * @param operacoes resultado de cada operação, na ordem enviada
+ */
+public record ResultadoLoteItensDTO(
+        UUID pedidoId,
+        boolean aplicado,
+        BigDecimal valorTotal,
+        List<ResultadoOperacaoItemDTO> operacoes
+) {}
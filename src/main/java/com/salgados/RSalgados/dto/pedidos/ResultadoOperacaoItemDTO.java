@@ -0,0 +1,18 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+/**
+ * Resultado de uma operação do lote, na mesma posição em que foi enviada.
+ * 
+ * @param indice posição da operação no lote
+ * @param tipo tipo da operação
+ * @param sucesso true se a operação era válida
+ * @param erro motivo da rejeição (null em caso de sucesso)
+ * @param item estado final do item (null se removido ou rejeitado)
+ */
+public record ResultadoOperacaoItemDTO(
+        int indice,
+        TipoOperacaoItem tipo,
+        boolean sucesso,
+        String erro,
+        ItemPedidoDTO item
+) {}
@@ -0,0 +1,10 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+/**
+ * Situação de uma importação de pedidos em lote.
+ */
+public enum StatusImportacao {
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
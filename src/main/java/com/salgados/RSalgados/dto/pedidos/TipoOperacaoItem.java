@@ -0,0 +1,10 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+/**
+ * Tipo de uma operação em lote sobre os itens de um pedido.
+ */
+public enum TipoOperacaoItem {
+    ADICIONAR,
+    ATUALIZAR,
+    REMOVER
+}
@@ -0,0 +1,12 @@
+package com.salgados.RSalgados.dto.pedidos;
+
+import java.time.Instant;
+
+/**
+ * Resumo barato de um conjunto de pedidos (quadro de produção, listagem do
+ * cliente), usado para gerar o ETag.
+ */
+public record VersaoQuadroDTO(
+    Long totalPedidos,
+    Instant ultimaAlteracao
+) {}
@@ -0,0 +1,10 @@
+package com.salgados.RSalgados.dto.produtos;
+
+import java.math.BigDecimal;
+
+public record ProdutoDTO(
+        Long id,
+        String nome,
+        BigDecimal preco,
+        boolean ativo
+) {}
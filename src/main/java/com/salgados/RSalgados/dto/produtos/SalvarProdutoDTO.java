@@ -0,0 +1,15 @@
+package com.salgados.RSalgados.dto.produtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class SalvarProdutoDTO {
+    private String nome;
+    private BigDecimal preco;
+    /** null mantém o valor atual (ou ativo, na criação). */
+    private Boolean ativo;
+}
@@ -0,0 +1,46 @@
+package com.salgados.RSalgados.dto.usuarios;
+
+import com.salgados.RSalgados.domain.usuarios.Role;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal da sessão autenticada.
+ * 
+ * <p>Além dos dados do {@link User} do Spring Security, guarda os IDs do
+ * usuário e do cliente e o papel, resolvidos uma única vez no login.
+ * Assim as requisições seguintes descobrem o cliente sem consultar o banco.
+ */
+public class UsuarioAutenticado extends User {
+
+    private final UUID usuarioId;
+    private final UUID clienteId;
+    private final Role role;
+
+    public UsuarioAutenticado(UUID usuarioId, UUID clienteId, Role role,
+                              String email, String senha, boolean ativo) {
+        super(email, senha, ativo, true, true, true,
+                List.of(new SimpleGrantedAuthority(role.name())));
+        this.usuarioId = usuarioId;
+        this.clienteId = clienteId;
+        this.role = role;
+    }
+
+    public UUID getUsuarioId() {
+        return usuarioId;
+    }
+
+    /**
+     * @return ID do cliente vinculado, ou {@code null} para usuários sem cliente (ex.: ADMIN)
+     */
+    public UUID getClienteId() {
+        return clienteId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,12 @@
+package com.salgados.RSalgados.dto.vendas;
+
+import java.math.BigDecimal;
+
+/**
+ * Quantidade vendida e faturamento de um item, agrupado pela descrição.
+ */
+public record ItemVendidoDTO(
+    String descricao,
+    Long quantidade,
+    BigDecimal valorTotal
+) {}
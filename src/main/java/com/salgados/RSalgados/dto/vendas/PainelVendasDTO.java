@@ -0,0 +1,15 @@
+package com.salgados.RSalgados.dto.vendas;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Painel de vendas de um período (datas inclusivas).
+ */
+public record PainelVendasDTO(
+    LocalDate desde,
+    LocalDate ate,
+    List<VendasDiaDTO> dias,
+    List<VendasStatusDTO> porStatus,
+    List<ItemVendidoDTO> maisVendidos
+) {}
@@ -0,0 +1,13 @@
+package com.salgados.RSalgados.dto.vendas;
+
+import java.time.LocalDate;
+
+/**
+ * Andamento da reconstrução dos resumos diários de vendas.
+ */
+public record ReconstrucaoVendasDTO(
+    LocalDate desde,
+    LocalDate ate,
+    LocalDate proximoDia,
+    boolean concluida
+) {}
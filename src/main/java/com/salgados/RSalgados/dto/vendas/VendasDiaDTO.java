@@ -0,0 +1,15 @@
+package com.salgados.RSalgados.dto.vendas;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de um dia, somando todos os status.
+ */
+public record VendasDiaDTO(
+    LocalDate dia,
+    long pedidos,
+    BigDecimal valorTotal,
+    long pedidosPagos,
+    BigDecimal valorPago
+) {}
@@ -0,0 +1,15 @@
+package com.salgados.RSalgados.dto.vendas;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+
+import java.math.BigDecimal;
+
+/**
+ * Pedidos e faturamento de um status e situação de pagamento.
+ */
+public record VendasStatusDTO(
+    StatusPedido statusPedido,
+    Boolean pago,
+    Long pedidos,
+    BigDecimal valorTotal
+) {}
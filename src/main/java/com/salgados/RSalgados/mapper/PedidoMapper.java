@@ -1,36 +1,112 @@
 package com.salgados.RSalgados.mapper;
 
+import com.salgados.RSalgados.domain.pedidos.ItemPedido;
 import com.salgados.RSalgados.domain.pedidos.Pedido;
 import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
 import com.salgados.RSalgados.domain.pedidos.StatusPedido;
 import com.salgados.RSalgados.dto.pedidos.ItemPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoItemLinhaDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoListagemDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoListagemLinhaDTO;
 import org.springframework.stereotype.Component;
-import java.util.stream.Collectors;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Component
 public class PedidoMapper {
 
-    public PedidoDTO toPedidoDTO(Pedido pedido) {
-        StatusPedido status = pedido.getStatusPedido() != null 
-            ? pedido.getStatusPedido() 
-            : StatusPedido.CRIADO;
+    /** Formato de data da listagem. Imutável e thread-safe, compartilhado entre chamadas. */
+    private static final DateTimeFormatter FORMATO_DATA_LISTAGEM =
+        DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneId.systemDefault());
 
+    public PedidoDTO toPedidoDTO(Pedido pedido) {
         return new PedidoDTO(
             pedido.getId(),
             pedido.getDataPedido(),
             pedido.getValorTotal(),
             pedido.getPago(),
-            status,
-            pedido.getItens().stream()
-                .map(item -> new ItemPedidoDTO(
-                    item.getId(),
-                    item.getDescricao(),
-                    item.getQuantidade(),
-                    item.getPrecoUnitario(),
-                    item.getSubtotal()
-                ))
-                .collect(Collectors.toList()),
+            statusOuPadrao(pedido.getStatusPedido()),
+            pedido.getItens() == null ? List.of() :
+                pedido.getItens().stream().map(this::toItemDTO).toList(),
             pedido.getCliente().getId()
         );
     }
-}
\ No newline at end of file
+
+    public ItemPedidoDTO toItemDTO(ItemPedido item) {
+        return new ItemPedidoDTO(
+            item.getId(),
+            item.getDescricao(),
+            item.getQuantidade(),
+            item.getPrecoUnitario(),
+            subtotalOuCalculado(null, item.getPrecoUnitario(), item.getQuantidade())
+        );
+    }
+
+    /**
+     * Monta o PedidoDTO a partir das linhas da projeção pedido + item,
+     * sem passar por entidades gerenciadas.
+     *
+     * @param linhas linhas de um único pedido (não vazia)
+     * @return PedidoDTO com os itens das linhas
+     */
+    public PedidoDTO toPedidoDTO(List<PedidoItemLinhaDTO> linhas) {
+        PedidoItemLinhaDTO pedido = linhas.get(0);
+
+        return new PedidoDTO(
+            pedido.pedidoId(),
+            pedido.dataPedido(),
+            pedido.valorTotal(),
+            pedido.pago(),
+            statusOuPadrao(pedido.statusPedido()),
+            linhas.stream()
+                .filter(linha -> linha.itemId() != null)
+                .map(linha -> new ItemPedidoDTO(
+                    linha.itemId(),
+                    linha.descricao(),
+                    linha.quantidade(),
+                    linha.precoUnitario(),
+                    subtotalOuCalculado(linha.subtotal(), linha.precoUnitario(), linha.quantidade())
+                ))
+                .toList(),
+            pedido.clienteId()
+        );
+    }
+
+    /**
+     * Converte uma linha da projeção de listagem para PedidoListagemDTO,
+     * com a data já formatada e também em epoch millis.
+     *
+     * @param linha linha da projeção
+     * @return PedidoListagemDTO pronto para exibição
+     */
+    public PedidoListagemDTO toListagemDTO(PedidoListagemLinhaDTO linha) {
+        return new PedidoListagemDTO(
+            linha.id(),
+            linha.dataPedido() != null ? FORMATO_DATA_LISTAGEM.format(linha.dataPedido()) : "",
+            linha.valorTotal(),
+            linha.pago(),
+            statusOuPadrao(linha.statusPedido()),
+            linha.dataPedido() != null ? linha.dataPedido().toEpochMilli() : null
+        );
+    }
+
+    private StatusPedido statusOuPadrao(StatusPedido status) {
+        return status != null ? status : StatusPedido.CRIADO;
+    }
+
+    /**
+     * Subtotal lido do banco pela projeção ou, sem ele, preço x quantidade.
+     * Entidades sempre calculam: o subtotal gerado não é relido após o flush.
+     */
+    private BigDecimal subtotalOuCalculado(BigDecimal subtotal, BigDecimal preco, Integer quantidade) {
+        if (subtotal != null) {
+            return subtotal;
+        }
+        BigDecimal precoUnitario = preco == null ? BigDecimal.ZERO : preco;
+        int qtd = quantidade == null ? 0 : quantidade;
+        return precoUnitario.multiply(BigDecimal.valueOf(qtd));
+    }
+}
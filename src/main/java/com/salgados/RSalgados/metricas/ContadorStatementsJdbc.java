@@ -0,0 +1,30 @@
+package com.salgados.RSalgados.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta, por thread, os statements JDBC preparados pelo Hibernate.
+ * 
+ * <p>As estatísticas globais do Hibernate não separam uma requisição da
+ * outra; este contador permite medir quantos statements cada operação
+ * emitiu, lendo o valor antes e depois dela na mesma thread.
+ * 
+ * <p>Registrado em {@code hibernate.session_factory.statement_inspector}.
+ */
+public class ContadorStatementsJdbc implements StatementInspector {
+
+    private static final ThreadLocal<long[]> CONTADOR = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONTADOR.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return total de statements preparados pela thread atual até agora
+     */
+    public static long atual() {
+        return CONTADOR.get()[0];
+    }
+}
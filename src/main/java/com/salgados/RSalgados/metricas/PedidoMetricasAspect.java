@@ -0,0 +1,107 @@
+package com.salgados.RSalgados.metricas;
+
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Métricas das operações de {@code PedidoServiceImpl}, publicadas via Micrometer
+ * em {@code /actuator/metrics} e {@code /actuator/prometheus}.
+ * 
+ * <p>Métricas registradas, com tags {@code operacao}, {@code resultado} e {@code excecao}:
+ * <ul>
+ *   <li>{@code pedidos.operacoes}: tempo de cada operação (o {@code count} do timer
+ *       serve de contador de chamadas)</li>
+ *   <li>{@code pedidos.jdbc.statements}: statements JDBC emitidos por operação</li>
+ * </ul>
+ * E, na criação de pedidos: {@code pedidos.itens} (itens por pedido) e
+ * {@code pedidos.valor} (valor total do pedido).
+ * 
+ * <p>Tem precedência máxima para envolver a transação, de forma que o tempo
+ * e os statements do commit entram na medição.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PedidoMetricasAspect {
+
+    private static final Map<String, String> OPERACOES = Map.ofEntries(
+            Map.entry("criarPedido", "criar"),
+            Map.entry("atualizarPedido", "atualizar"),
+            Map.entry("adicionarItem", "adicionar_item"),
+            Map.entry("atualizarItem", "atualizar_item"),
+            Map.entry("removerItem", "remover_item"),
+            Map.entry("aplicarOperacoesItens", "lote_itens"),
+            Map.entry("marcarComoPago", "marcar_pago"),
+            Map.entry("alterarStatus", "alterar_status"),
+            Map.entry("buscarPorId", "buscar"),
+            Map.entry("listarPorClienteAutenticado", "listar"),
+            Map.entry("listarPaginaPorClienteAutenticado", "listar")
+    );
+
+    private final MeterRegistry registry;
+    private final DistributionSummary itensPorPedido;
+    private final DistributionSummary valorPorPedido;
+
+    public PedidoMetricasAspect(MeterRegistry registry) {
+        this.registry = registry;
+        this.itensPorPedido = DistributionSummary.builder("pedidos.itens")
+                .description("Quantidade de itens por pedido criado")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.valorPorPedido = DistributionSummary.builder("pedidos.valor")
+                .description("Valor total por pedido criado")
+                .baseUnit("reais")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Around("execution(public * com.salgados.RSalgados.service.PedidoServiceImpl.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operacao = OPERACOES.get(joinPoint.getSignature().getName());
+        if (operacao == null) {
+            return joinPoint.proceed();
+        }
+
+        Timer.Sample amostra = Timer.start(registry);
+        long statementsAntes = ContadorStatementsJdbc.atual();
+        String resultado = "sucesso";
+        String excecao = "none";
+        try {
+            Object retorno = joinPoint.proceed();
+            if (retorno instanceof PedidoDTO pedido && "criar".equals(operacao)) {
+                itensPorPedido.record(pedido.itens().size());
+                if (pedido.valorTotal() != null) {
+                    valorPorPedido.record(pedido.valorTotal().doubleValue());
+                }
+            }
+            return retorno;
+        } catch (Throwable e) {
+            resultado = "erro";
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Tags tags = Tags.of("operacao", operacao, "resultado", resultado, "excecao", excecao);
+            amostra.stop(Timer.builder("pedidos.operacoes")
+                    .description("Tempo das operações de pedido")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            DistributionSummary.builder("pedidos.jdbc.statements")
+                    .description("Statements JDBC emitidos por operação de pedido")
+                    .tags(tags)
+                    .register(registry)
+                    .record(ContadorStatementsJdbc.atual() - statementsAntes);
+        }
+    }
+}
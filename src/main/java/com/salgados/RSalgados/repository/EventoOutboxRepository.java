@@ -0,0 +1,50 @@
+package com.salgados.RSalgados.repository;
+
+import com.salgados.RSalgados.domain.eventos.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Próximo lote de eventos pendentes, na ordem em que foram gravados.
+     * As linhas ficam travadas até o fim da transação; linhas já travadas por
+     * outra instância são puladas (timeout -2 = SKIP LOCKED, onde o banco suporta).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoOutbox e where e.processadoEm is null order by e.id")
+    List<EventoOutbox> buscarPendentes(Limit limite);
+
+    long countByProcessadoEmIsNull();
+
+    /**
+     * IDs de eventos entregues (ou descartados) antes do limite, para a
+     * limpeza em lotes; {@code DELETE} não aceita {@code LIMIT} em JPQL.
+     */
+    @Query("select e.id from EventoOutbox e where e.processadoEm < :limite order by e.processadoEm")
+    List<Long> buscarProcessadosAntesDe(@Param("limite") Instant limite, Limit quantidade);
+
+    /**
+     * Marca como pendentes, para nova entrega, os eventos gravados no intervalo.
+     *
+     * @return quantidade de eventos reenfileirados
+     */
+    @Modifying
+    @Query("""
+        update EventoOutbox e
+        set e.processadoEm = null, e.tentativas = 0, e.erro = null
+        where e.criadoEm >= :desde and e.criadoEm < :ate
+        """)
+    int reenfileirar(@Param("desde") Instant desde, @Param("ate") Instant ate);
+}
@@ -1,11 +1,63 @@
 package com.salgados.RSalgados.repository;
 
 import com.salgados.RSalgados.domain.pedidos.ItemPedido;
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.dto.pedidos.QuantidadePreparoDTO;
+import com.salgados.RSalgados.dto.vendas.ItemVendidoDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface ItemPedidoRepository extends JpaRepository<ItemPedido, UUID> {
     List<ItemPedido> findByPedidoId(UUID id);
+
+    /**
+     * Soma dos subtotais calculados pelo banco (coluna gerada {@code subtotal}).
+     */
+    @Query("select sum(i.subtotal) from ItemPedido i where i.pedido.id = :pedidoId")
+    BigDecimal somarSubtotais(@Param("pedidoId") UUID pedidoId);
+
+    /**
+     * Quantidade e faturamento por descrição dos itens de pedidos feitos no
+     * intervalo {@code [inicio, fim)}, para reconstruir os resumos diários.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.vendas.ItemVendidoDTO(
+            i.descricao, sum(i.quantidade), sum(i.subtotal))
+        from ItemPedido i join i.pedido p
+        where p.dataPedido >= :inicio and p.dataPedido < :fim
+        group by i.descricao
+        """)
+    List<ItemVendidoDTO> resumirItensVendidos(@Param("inicio") Instant inicio, @Param("fim") Instant fim);
+
+    /**
+     * Unidades por status e descrição dos itens de pedidos nos status
+     * informados, para reconciliar o plano de preparo.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.QuantidadePreparoDTO(
+            p.statusPedido, i.descricao, sum(i.quantidade))
+        from ItemPedido i join i.pedido p
+        where p.statusPedido in :status
+        group by p.statusPedido, i.descricao
+        """)
+    List<QuantidadePreparoDTO> somarQuantidadesPorStatus(@Param("status") Collection<StatusPedido> status);
+
+    /**
+     * Unidades por descrição dos itens de um pedido (status atual do pedido).
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.QuantidadePreparoDTO(
+            p.statusPedido, i.descricao, sum(i.quantidade))
+        from ItemPedido i join i.pedido p
+        where p.id = :pedidoId
+        group by p.statusPedido, i.descricao
+        """)
+    List<QuantidadePreparoDTO> somarQuantidadesDoPedido(@Param("pedidoId") UUID pedidoId);
 }
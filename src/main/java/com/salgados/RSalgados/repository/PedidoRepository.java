@@ -1,8 +1,21 @@
 package com.salgados.RSalgados.repository;
 
 import com.salgados.RSalgados.domain.pedidos.Pedido;
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.dto.pedidos.DivergenciaTotalDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoItemLinhaDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoListagemLinhaDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoProducaoDTO;
+import com.salgados.RSalgados.dto.pedidos.VersaoQuadroDTO;
+import com.salgados.RSalgados.dto.vendas.VendasStatusDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
 import com.salgados.RSalgados.domain.usuarios.Cliente;
@@ -10,4 +23,163 @@ import com.salgados.RSalgados.domain.usuarios.Cliente;
 
 public interface PedidoRepository extends JpaRepository<Pedido, UUID> {
     List<Pedido> getByCliente(Cliente cliente);
+
+    /**
+     * Todos os pedidos do cliente, apenas com as colunas da listagem.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.PedidoListagemLinhaDTO(
+            p.id, p.dataPedido, p.valorTotal, p.pago, p.statusPedido)
+        from Pedido p
+        where p.cliente.id = :clienteId
+        order by p.dataPedido desc, p.id desc
+        """)
+    List<PedidoListagemLinhaDTO> listarResumoDoCliente(@Param("clienteId") UUID clienteId);
+
+    /**
+     * Primeira página da listagem do cliente, ordenada do mais recente para o mais antigo.
+     * Filtros nulos são ignorados.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.PedidoListagemLinhaDTO(
+            p.id, p.dataPedido, p.valorTotal, p.pago, p.statusPedido)
+        from Pedido p
+        where p.cliente.id = :clienteId
+          and (:status is null or p.statusPedido = :status)
+          and (:pago is null or p.pago = :pago)
+        order by p.dataPedido desc, p.id desc
+        """)
+    List<PedidoListagemLinhaDTO> listarPrimeiraPaginaDoCliente(@Param("clienteId") UUID clienteId,
+                                                               @Param("status") StatusPedido status,
+                                                               @Param("pago") Boolean pago,
+                                                               Limit limite);
+
+    /**
+     * Página seguinte ao cursor ({@code dataPedido}, {@code id}) informado (keyset),
+     * usando o índice {@code idx_pedido_cliente_data}.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.PedidoListagemLinhaDTO(
+            p.id, p.dataPedido, p.valorTotal, p.pago, p.statusPedido)
+        from Pedido p
+        where p.cliente.id = :clienteId
+          and (:status is null or p.statusPedido = :status)
+          and (:pago is null or p.pago = :pago)
+          and (p.dataPedido < :dataCursor or (p.dataPedido = :dataCursor and p.id < :idCursor))
+        order by p.dataPedido desc, p.id desc
+        """)
+    List<PedidoListagemLinhaDTO> listarPaginaDoClienteApos(@Param("clienteId") UUID clienteId,
+                                                           @Param("status") StatusPedido status,
+                                                           @Param("pago") Boolean pago,
+                                                           @Param("dataCursor") Instant dataCursor,
+                                                           @Param("idCursor") UUID idCursor,
+                                                           Limit limite);
+
+    /**
+     * Busca o pedido do cliente já com os itens, em uma única consulta.
+     */
+    @Query("""
+        select p from Pedido p
+        left join fetch p.itens
+        where p.id = :id and p.cliente.id = :clienteId
+        """)
+    Optional<Pedido> buscarComItensDoCliente(@Param("id") UUID id, @Param("clienteId") UUID clienteId);
+
+    /**
+     * Só a versão do pedido do cliente, para o ETag do detalhe (busca pela chave primária,
+     * sem carregar itens).
+     */
+    @Query("select p.versao from Pedido p where p.id = :id and p.cliente.id = :clienteId")
+    Optional<Long> buscarVersaoDoCliente(@Param("id") UUID id, @Param("clienteId") UUID clienteId);
+
+    /**
+     * Quantidade e última alteração dos pedidos do cliente, para o ETag da listagem.
+     *
+     * <p>Percorre todas as entradas do cliente no índice
+     * {@code idx_pedido_cliente_atualizado}, sem ler a tabela: o custo cresce
+     * com o histórico do cliente, não com o tamanho da página.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.VersaoQuadroDTO(count(p), max(p.atualizadoEm))
+        from Pedido p
+        where p.cliente.id = :clienteId
+        """)
+    VersaoQuadroDTO resumirDoCliente(@Param("clienteId") UUID clienteId);
+
+    /**
+     * Projeção pedido + itens do cliente, uma linha por item, sem entidades gerenciadas.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.PedidoItemLinhaDTO(
+            p.id, p.dataPedido, p.valorTotal, p.pago, p.statusPedido, p.cliente.id,
+            i.id, i.descricao, i.quantidade, i.precoUnitario, i.subtotal)
+        from Pedido p left join p.itens i
+        where p.id = :id and p.cliente.id = :clienteId
+        """)
+    List<PedidoItemLinhaDTO> buscarLinhasDoCliente(@Param("id") UUID id, @Param("clienteId") UUID clienteId);
+
+    /**
+     * Pedidos nos status informados, de todos os clientes, do mais antigo para o mais novo
+     * (índice {@code idx_pedido_status_data}).
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.PedidoProducaoDTO(
+            p.id, p.cliente.id, p.dataPedido, p.statusPedido, p.pago, p.valorTotal, p.atualizadoEm)
+        from Pedido p
+        where p.statusPedido in :status
+        order by p.dataPedido, p.id
+        """)
+    List<PedidoProducaoDTO> listarPorStatus(@Param("status") Collection<StatusPedido> status);
+
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.VersaoQuadroDTO(count(p), max(p.atualizadoEm))
+        from Pedido p
+        where p.statusPedido in :status
+        """)
+    VersaoQuadroDTO resumirPorStatus(@Param("status") Collection<StatusPedido> status);
+
+    /**
+     * Pedidos alterados depois do cursor ({@code atualizadoEm}, {@code id}), em qualquer status
+     * (índice {@code idx_pedido_atualizado}).
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.PedidoProducaoDTO(
+            p.id, p.cliente.id, p.dataPedido, p.statusPedido, p.pago, p.valorTotal, p.atualizadoEm)
+        from Pedido p
+        where (p.atualizadoEm > :desde or (p.atualizadoEm = :desde and p.id > :idCursor))
+          and p.atualizadoEm <= :ate
+        order by p.atualizadoEm, p.id
+        """)
+    List<PedidoProducaoDTO> listarAlteradosApos(@Param("desde") Instant desde,
+                                                @Param("idCursor") UUID idCursor,
+                                                @Param("ate") Instant ate,
+                                                Limit limite);
+
+    @Query("""
+        select new com.salgados.RSalgados.dto.pedidos.DivergenciaTotalDTO(
+            p.id, p.valorTotal, sum(i.subtotal))
+        from Pedido p left join p.itens i
+        group by p.id, p.valorTotal
+        having p.valorTotal <> coalesce(sum(i.subtotal), 0)
+        """)
+    List<DivergenciaTotalDTO> buscarDivergenciasDeTotal();
+
+    /**
+     * Pedidos e faturamento por status/pagamento no intervalo {@code [inicio, fim)},
+     * para reconstruir os resumos diários (índice {@code idx_pedido_data}).
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.vendas.VendasStatusDTO(
+            p.statusPedido, p.pago, count(p), sum(p.valorTotal))
+        from Pedido p
+        where p.dataPedido >= :inicio and p.dataPedido < :fim
+        group by p.statusPedido, p.pago
+        """)
+    List<VendasStatusDTO> resumirVendas(@Param("inicio") Instant inicio, @Param("fim") Instant fim);
+
+    /**
+     * Indica se o cliente tem algum pedido não pago
+     * (índice parcial {@code idx_pedido_nao_pago} no Postgres).
+     */
+    boolean existsByClienteIdAndPagoFalse(UUID clienteId);
 }
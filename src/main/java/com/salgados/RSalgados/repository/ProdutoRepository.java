@@ -0,0 +1,16 @@
+package com.salgados.RSalgados.repository;
+
+import com.salgados.RSalgados.domain.produtos.Produto;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+
+    /**
+     * Produtos ativos em ordem de ID, como o snapshot do catálogo os guarda.
+     */
+    List<Produto> findByAtivoTrueOrderById();
+
+    List<Produto> findAllByOrderByNome();
+}
@@ -0,0 +1,64 @@
+package com.salgados.RSalgados.repository;
+
+import com.salgados.RSalgados.domain.idempotencia.RegistroIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface RegistroIdempotenciaRepository extends JpaRepository<RegistroIdempotencia, String> {
+
+    /**
+     * Apaga os registros vencidos (índice {@code idx_registro_idempotencia_expira}).
+     *
+     * @return quantidade de registros apagados
+     */
+    @Modifying
+    @Query("delete from RegistroIdempotencia r where r.expiraEm < :agora")
+    int apagarExpirados(@Param("agora") Instant agora);
+
+    /**
+     * Reserva de novo uma chave cujo registro venceu (resposta antiga ou
+     * reserva abandonada). Condicional: de várias instâncias disputando o
+     * mesmo registro vencido, só uma altera a linha.
+     *
+     * @return 1 se a reserva foi feita, 0 se o registro não está vencido ou não existe
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        update RegistroIdempotencia r
+        set r.resposta = null, r.criadoEm = :agora, r.expiraEm = :expiraEm
+        where r.chave = :chave and r.expiraEm < :agora
+        """)
+    int retomarVencido(@Param("chave") String chave, @Param("agora") Instant agora, @Param("expiraEm") Instant expiraEm);
+
+    /**
+     * Grava a resposta na reserva feita em {@code reservadoEm}; se a reserva
+     * venceu e foi retomada por outra requisição, não altera nada.
+     *
+     * @return 1 se a resposta foi gravada
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        update RegistroIdempotencia r
+        set r.resposta = :resposta, r.expiraEm = :expiraEm
+        where r.chave = :chave and r.criadoEm = :reservadoEm
+        """)
+    int concluir(@Param("chave") String chave, @Param("reservadoEm") Instant reservadoEm,
+                 @Param("resposta") String resposta, @Param("expiraEm") Instant expiraEm);
+
+    /**
+     * Desfaz a reserva feita em {@code reservadoEm} (a operação falhou).
+     *
+     * @return 1 se a reserva foi apagada
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RegistroIdempotencia r where r.chave = :chave and r.criadoEm = :reservadoEm")
+    int liberar(@Param("chave") String chave, @Param("reservadoEm") Instant reservadoEm);
+}
@@ -0,0 +1,52 @@
+package com.salgados.RSalgados.repository;
+
+import com.salgados.RSalgados.domain.vendas.ResumoItemDiario;
+import com.salgados.RSalgados.dto.vendas.ItemVendidoDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoItemDiarioRepository extends JpaRepository<ResumoItemDiario, ResumoItemDiario.Chave> {
+
+    /**
+     * Soma a diferença na linha do dia/item, sem lê-la antes.
+     *
+     * @return 1 se a linha existia, 0 se ainda precisa ser criada
+     */
+    @Modifying
+    @Query("""
+        update ResumoItemDiario r
+        set r.quantidade = r.quantidade + :quantidade, r.valorTotal = r.valorTotal + :valor
+        where r.dia = :dia and r.descricao = :descricao
+        """)
+    int somar(@Param("dia") LocalDate dia,
+              @Param("descricao") String descricao,
+              @Param("quantidade") long quantidade,
+              @Param("valor") BigDecimal valor);
+
+    /**
+     * Itens mais vendidos (por quantidade) no período, datas inclusivas.
+     */
+    @Query("""
+        select new com.salgados.RSalgados.dto.vendas.ItemVendidoDTO(
+            r.descricao, sum(r.quantidade), sum(r.valorTotal))
+        from ResumoItemDiario r
+        where r.dia between :desde and :ate
+        group by r.descricao
+        having sum(r.quantidade) > 0
+        order by sum(r.quantidade) desc, r.descricao
+        """)
+    List<ItemVendidoDTO> listarMaisVendidos(@Param("desde") LocalDate desde,
+                                           @Param("ate") LocalDate ate,
+                                           Limit limite);
+
+    @Modifying
+    @Query("delete from ResumoItemDiario r where r.dia = :dia")
+    int apagarDia(@Param("dia") LocalDate dia);
+}
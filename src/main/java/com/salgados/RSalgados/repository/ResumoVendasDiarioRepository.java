@@ -0,0 +1,41 @@
+package com.salgados.RSalgados.repository;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.domain.vendas.ResumoVendasDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoVendasDiarioRepository extends JpaRepository<ResumoVendasDiario, ResumoVendasDiario.Chave> {
+
+    /**
+     * Soma a diferença na linha do dia/status/pagamento, sem lê-la antes.
+     *
+     * @return 1 se a linha existia, 0 se ainda precisa ser criada
+     */
+    @Modifying
+    @Query("""
+        update ResumoVendasDiario r
+        set r.quantidadePedidos = r.quantidadePedidos + :pedidos, r.valorTotal = r.valorTotal + :valor
+        where r.dia = :dia and r.statusPedido = :status and r.pago = :pago
+        """)
+    int somar(@Param("dia") LocalDate dia,
+              @Param("status") StatusPedido status,
+              @Param("pago") Boolean pago,
+              @Param("pedidos") long pedidos,
+              @Param("valor") BigDecimal valor);
+
+    /**
+     * Linhas do período (datas inclusivas), pela chave primária.
+     */
+    List<ResumoVendasDiario> findByDiaBetweenOrderByDia(LocalDate desde, LocalDate ate);
+
+    @Modifying
+    @Query("delete from ResumoVendasDiario r where r.dia = :dia")
+    int apagarDia(@Param("dia") LocalDate dia);
+}
@@ -1,7 +1,11 @@
 package com.salgados.RSalgados.repository;
 
 import com.salgados.RSalgados.domain.usuarios.Usuario;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -9,4 +13,12 @@ import java.util.UUID;
 public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Usuário com o cliente vinculado, para o login. O resultado fica no
+     * cache de consultas até a próxima escrita em usuários ou clientes.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select u from Usuario u left join fetch u.cliente where u.email = :email")
+    Optional<Usuario> findComClienteByEmail(@Param("email") String email);
 }
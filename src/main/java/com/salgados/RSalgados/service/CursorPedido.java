@@ -0,0 +1,49 @@
+package com.salgados.RSalgados.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição em uma listagem de pedidos paginada por keyset sobre (instante, id):
+ * {@code dataPedido} na listagem do cliente, {@code atualizadoEm} no feed de produção.
+ * 
+ * <p>É trafegado para o cliente como um token opaco em Base64 URL-safe;
+ * o formato interno pode mudar sem quebrar a API.
+ * 
+ * @param instante instante do último pedido da página anterior
+ * @param id ID do último pedido da página anterior
+ */
+record CursorPedido(Instant instante, UUID id) {
+
+    private static final String SEPARADOR = "|";
+
+    String codificar() {
+        String valor = instante + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token token recebido do cliente
+     * @return cursor decodificado
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    static CursorPedido decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new CursorPedido(
+                    Instant.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.dto.pedidos.LinhaExportacaoDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação de pedidos e itens de um período em CSV ou NDJSON (uso administrativo).
+ * 
+ * <p>As linhas vão do cursor JDBC direto para a saída, uma a uma: nenhuma
+ * entidade é carregada e a memória usada não depende do tamanho do período.
+ * O driver busca {@code rsalgados.exportacao.fetch-size} linhas por vez
+ * (no PostgreSQL o cursor só é usado dentro de uma transação, por isso a
+ * consulta roda em uma transação somente leitura).
+ */
+@Service
+public class ExportacaoPedidosService {
+
+    /** Formatos de saída da exportação. */
+    public enum Formato { CSV, NDJSON }
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final String CABECALHO_CSV = "pedido_id,data_pedido,cliente_id,status_pedido,pago,valor_total,"
+            + "item_id,descricao,quantidade,preco_unitario,subtotal";
+
+    private static final String CONSULTA = """
+        select p.id as pedido_id, p.data_pedido, p.cliente_id, p.status_pedido, p.pago, p.valor_total,
+               i.id as item_id, i.descricao, i.quantidade, i.preco_unitario, i.subtotal
+        from pedido p
+        left join item_pedido i on i.id_pedido = p.id
+        where p.data_pedido >= ? and p.data_pedido < ?
+        order by p.data_pedido, p.id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    public ExportacaoPedidosService(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    JsonMapper jsonMapper,
+                                    @Value("${rsalgados.exportacao.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Escreve na saída os pedidos feitos no intervalo, uma linha por item.
+     * 
+     * <p>A saída não é fechada; com {@code gzip} o fluxo comprimido é finalizado.
+     * 
+     * @param desde início do intervalo (inclusive)
+     * @param ate fim do intervalo (exclusive)
+     * @param formato CSV (com cabeçalho) ou NDJSON (um objeto JSON por linha)
+     * @param gzip se a saída deve ser comprimida
+     * @param saida destino das linhas
+     * @return quantidade de linhas exportadas (sem o cabeçalho)
+     * @throws IllegalArgumentException se {@code desde} não for anterior a {@code ate}
+     * @throws IOException se a escrita falhar (ex.: cliente desconectou)
+     */
+    public long exportar(Instant desde, Instant ate, Formato formato, boolean gzip, OutputStream saida) throws IOException {
+        if (!desde.isBefore(ate)) {
+            throw new IllegalArgumentException("Intervalo inválido: " + desde + " a " + ate);
+        }
+
+        OutputStream destino = gzip ? new GZIPOutputStream(saida, TAMANHO_BUFFER) : saida;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+
+        if (formato == Formato.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        AtomicLong linhas = new AtomicLong();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(CONSULTA, rs -> {
+                escrever(writer, formato, ler(rs));
+                linhas.incrementAndGet();
+            }, OffsetDateTime.ofInstant(desde, ZoneOffset.UTC), OffsetDateTime.ofInstant(ate, ZoneOffset.UTC)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (destino instanceof GZIPOutputStream comprimido) {
+            comprimido.finish();
+        }
+        return linhas.get();
+    }
+
+    private static LinhaExportacaoDTO ler(ResultSet rs) throws SQLException {
+        return new LinhaExportacaoDTO(
+                rs.getObject("pedido_id", UUID.class),
+                rs.getObject("data_pedido", OffsetDateTime.class).toInstant(),
+                rs.getObject("cliente_id", UUID.class),
+                rs.getString("status_pedido"),
+                rs.getBoolean("pago"),
+                rs.getBigDecimal("valor_total"),
+                rs.getObject("item_id", UUID.class),
+                rs.getString("descricao"),
+                rs.getObject("quantidade", Integer.class),
+                rs.getBigDecimal("preco_unitario"),
+                rs.getBigDecimal("subtotal")
+        );
+    }
+
+    private void escrever(Writer writer, Formato formato, LinhaExportacaoDTO linha) {
+        try {
+            if (formato == Formato.NDJSON) {
+                writer.write(jsonMapper.writeValueAsString(linha));
+            } else {
+                writer.write(linhaCsv(linha));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String linhaCsv(LinhaExportacaoDTO linha) {
+        return String.join(",",
+                texto(linha.pedidoId()),
+                texto(linha.dataPedido()),
+                texto(linha.clienteId()),
+                texto(linha.statusPedido()),
+                texto(linha.pago()),
+                decimal(linha.valorTotal()),
+                texto(linha.itemId()),
+                campoCsv(linha.descricao()),
+                texto(linha.quantidade()),
+                decimal(linha.precoUnitario()),
+                decimal(linha.subtotal()));
+    }
+
+    /**
+     * Escapa um campo de texto livre para CSV. Valores que começam com
+     * {@code = + - @} ganham um apóstrofo na frente, para a planilha não
+     * os interpretar como fórmula.
+     */
+    static String campoCsv(String valor) {
+        if (valor == null || valor.isEmpty()) {
+            return "";
+        }
+        if ("=+-@".indexOf(valor.charAt(0)) >= 0) {
+            valor = "'" + valor;
+        }
+        if (valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0 || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
+    private static String texto(Object valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    private static String decimal(BigDecimal valor) {
+        return valor == null ? "" : valor.toPlainString();
+    }
+}
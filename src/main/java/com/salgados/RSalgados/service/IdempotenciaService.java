@@ -0,0 +1,214 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.idempotencia.RegistroIdempotencia;
+import com.salgados.RSalgados.repository.RegistroIdempotenciaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Supressão de requisições repetidas (duplo clique, retry do cliente)
+ * por chave de idempotência.
+ *
+ * <p>A primeira requisição com uma chave executa a operação e guarda a
+ * resposta; as repetições dentro do prazo ({@code rsalgados.idempotencia.ttl})
+ * recebem a mesma resposta sem executar nada de novo. Repetições que chegam
+ * enquanto a original ainda roda esperam por ela.
+ *
+ * <p>Enquanto a operação roda, a chave fica reservada no banco por
+ * {@code rsalgados.idempotencia.reserva}, bem menos que o prazo da resposta:
+ * se a instância cair no meio, a chave volta a ser aceita depois desse prazo
+ * em vez de responder 409 até o fim do {@code ttl}. O prazo precisa ser
+ * maior que a operação mais demorada.
+ *
+ * <p>As respostas ficam em duas camadas:
+ * <ul>
+ *   <li>Memória: LRU limitado a {@code rsalgados.idempotencia.capacidade}
+ *       entradas, atende a grande maioria das repetições sem ir ao banco</li>
+ *   <li>Banco ({@link RegistroIdempotencia}): consultado quando a chave não
+ *       está na memória (reinício, outra instância, entrada descartada pelo LRU)</li>
+ * </ul>
+ */
+@Service
+public class IdempotenciaService {
+
+    /** Tamanho máximo da chave enviada pelo cliente. */
+    public static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private final RegistroIdempotenciaRepository registroRepository;
+    private final JsonMapper jsonMapper;
+    private final Duration ttl;
+    private final Duration prazoReserva;
+    private final Map<String, Entrada> respostas;
+
+    public IdempotenciaService(RegistroIdempotenciaRepository registroRepository,
+                               JsonMapper jsonMapper,
+                               @Value("${rsalgados.idempotencia.ttl:PT24H}") Duration ttl,
+                               @Value("${rsalgados.idempotencia.reserva:PT1M}") Duration prazoReserva,
+                               @Value("${rsalgados.idempotencia.capacidade:10000}") int capacidade) {
+        this.registroRepository = registroRepository;
+        this.jsonMapper = jsonMapper;
+        this.ttl = ttl;
+        this.prazoReserva = prazoReserva;
+        this.respostas = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                return size() > capacidade;
+            }
+        };
+    }
+
+    /**
+     * Executa a operação uma única vez por chave dentro do prazo.
+     *
+     * <p>Sem chave, a operação é executada normalmente. Se a operação falhar,
+     * nada é guardado e a mesma chave pode ser reenviada.
+     *
+     * @param escopo operação e dono da chave (chaves iguais em escopos diferentes não colidem)
+     * @param chave chave enviada pelo cliente, ou null
+     * @param tipo tipo da resposta, para ler a resposta gravada no banco
+     * @param operacao operação a executar
+     * @param <T> tipo da resposta (precisa ser serializável em JSON)
+     * @return resposta da operação, nova ou repetida
+     * @throws ResponseStatusException 400 se a chave for longa demais; 409 se a
+     *         mesma chave estiver em andamento em outra instância
+     */
+    public <T> T executar(String escopo, String chave, Class<T> tipo, Supplier<T> operacao) {
+        if (chave == null || chave.isBlank()) {
+            return operacao.get();
+        }
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chave de idempotência muito longa");
+        }
+
+        String id = escopo + ":" + chave;
+        Instant agora = Instant.now();
+        Entrada entrada;
+        boolean primeira = false;
+        synchronized (respostas) {
+            entrada = respostas.get(id);
+            if (entrada == null || entrada.expiraEm().isBefore(agora)) {
+                entrada = new Entrada(new CompletableFuture<>(), agora.plus(ttl));
+                respostas.put(id, entrada);
+                primeira = true;
+            }
+        }
+
+        if (!primeira) {
+            return tipo.cast(aguardar(entrada.resposta()));
+        }
+
+        try {
+            T resposta = executarComRegistro(id, tipo, operacao, agora);
+            entrada.resposta().complete(resposta);
+            return resposta;
+        } catch (RuntimeException e) {
+            synchronized (respostas) {
+                respostas.remove(id);
+            }
+            entrada.resposta().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Apaga periodicamente os registros vencidos do banco e da memória.
+     */
+    @Scheduled(fixedDelayString = "${rsalgados.idempotencia.limpeza-ms:3600000}")
+    @Transactional
+    public void limparExpirados() {
+        Instant agora = Instant.now();
+        synchronized (respostas) {
+            respostas.values().removeIf(e -> e.resposta().isDone() && e.expiraEm().isBefore(agora));
+        }
+        registroRepository.apagarExpirados(agora);
+    }
+
+    /**
+     * Consulta o banco e, se a chave for nova ou estiver vencida, reserva a
+     * chave antes de executar a operação.
+     */
+    private <T> T executarComRegistro(String id, Class<T> tipo, Supplier<T> operacao, Instant agora) {
+        RegistroIdempotencia registro = registroRepository.findById(id).orElse(null);
+        if (registro != null && registro.getExpiraEm().isAfter(agora)) {
+            if (registro.getResposta() == null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Requisição com a mesma chave em andamento");
+            }
+            return jsonMapper.readValue(registro.getResposta(), tipo);
+        }
+
+        // Precisão do timestamp(6) do banco: a reserva é reconhecida por este instante
+        Instant reservadoEm = agora.truncatedTo(ChronoUnit.MICROS);
+        if (!reservar(id, registro != null, reservadoEm)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Requisição com a mesma chave em andamento");
+        }
+
+        T resposta;
+        try {
+            resposta = operacao.get();
+        } catch (RuntimeException e) {
+            registroRepository.liberar(id, reservadoEm);
+            throw e;
+        }
+
+        registroRepository.concluir(id, reservadoEm, jsonMapper.writeValueAsString(resposta), agora.plus(ttl));
+        return resposta;
+    }
+
+    /**
+     * Reserva a chave (resposta nula) até {@code reservadoEm + prazoReserva}.
+     *
+     * <p>Registro vencido é retomado por um UPDATE condicional; chave nova
+     * é um INSERT, e a chave primária rejeita a segunda de duas instâncias
+     * reservando ao mesmo tempo. Nos dois casos só uma reserva vence.
+     *
+     * @return false se outra requisição reservou a chave primeiro
+     */
+    private boolean reservar(String id, boolean vencido, Instant reservadoEm) {
+        Instant expiraEm = reservadoEm.plus(prazoReserva);
+        if (vencido && registroRepository.retomarVencido(id, reservadoEm, expiraEm) == 1) {
+            return true;
+        }
+
+        RegistroIdempotencia registro = new RegistroIdempotencia();
+        registro.setChave(id);
+        registro.setCriadoEm(reservadoEm);
+        registro.setExpiraEm(expiraEm);
+        try {
+            registroRepository.saveAndFlush(registro);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private static Object aguardar(CompletableFuture<Object> resposta) {
+        try {
+            return resposta.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resposta em memória; incompleta enquanto a requisição original roda.
+     */
+    private record Entrada(CompletableFuture<Object> resposta, Instant expiraEm) {}
+}
@@ -0,0 +1,442 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.pedidos.ItemPedido;
+import com.salgados.RSalgados.domain.pedidos.Pedido;
+import com.salgados.RSalgados.domain.pedidos.eventos.ItemEvento;
+import com.salgados.RSalgados.domain.pedidos.eventos.PedidoCriado;
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.dto.pedidos.ErroImportacaoDTO;
+import com.salgados.RSalgados.dto.pedidos.ImportacaoPedidosDTO;
+import com.salgados.RSalgados.dto.pedidos.StatusImportacao;
+import com.salgados.RSalgados.dto.produtos.ProdutoDTO;
+import com.salgados.RSalgados.service.produtos.CatalogoProdutos;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importação de pedidos em lote a partir de CSV (pedidos corporativos).
+ *
+ * <p>Formato: cabeçalho {@code pedido,produto_id,quantidade} e uma linha
+ * por item. Linhas consecutivas com a mesma chave em {@code pedido} formam
+ * um pedido. Separador {@code ,} ou {@code ;} (detectado pelo cabeçalho).
+ * Descrição e preço de cada item vêm do {@link CatalogoProdutos}, como na
+ * criação pelo formulário; produto fora do catálogo é erro da linha.
+ *
+ * <p>O arquivo é lido linha a linha, em segundo plano, e os pedidos válidos
+ * são gravados em transações de {@code rsalgados.importacao.pedidos-por-lote}
+ * pedidos: um flush em lotes JDBC por transação, com o contexto de
+ * persistência limpo em seguida, de forma que a memória usada não depende
+ * do tamanho do arquivo. Cada pedido gravado publica {@link PedidoCriado},
+ * como na criação pelo formulário.
+ */
+@Service
+public class ImportacaoPedidosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoPedidosService.class);
+
+    private static final List<String> COLUNAS = List.of("pedido", "produto_id", "quantidade");
+
+    private static final int MAXIMO_ERROS_LISTADOS = 1000;
+
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogoProdutos catalogoProdutos;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final int pedidosPorLote;
+    private final Duration retencao;
+
+    private final Map<UUID, Importacao> importacoes = new ConcurrentHashMap<>();
+
+    public ImportacaoPedidosService(EntityManager entityManager,
+                                    ApplicationEventPublisher eventPublisher,
+                                    CatalogoProdutos catalogoProdutos,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                                    @Value("${rsalgados.importacao.pedidos-por-lote:500}") int pedidosPorLote,
+                                    @Value("${rsalgados.importacao.retencao:PT1H}") Duration retencao) {
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.catalogoProdutos = catalogoProdutos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.pedidosPorLote = pedidosPorLote;
+        this.retencao = retencao;
+    }
+
+    /**
+     * Recebe o arquivo e inicia a importação em segundo plano.
+     *
+     * <p>O arquivo é copiado para um temporário antes de a requisição
+     * terminar; o processamento continua depois da resposta.
+     *
+     * @param clienteId cliente dono dos pedidos importados
+     * @param arquivo CSV enviado
+     * @return andamento inicial da importação
+     * @throws IOException se o arquivo não puder ser copiado
+     */
+    public ImportacaoPedidosDTO iniciar(UUID clienteId, MultipartFile arquivo) throws IOException {
+        Path temporario = Files.createTempFile("importacao-pedidos-", ".csv");
+        arquivo.transferTo(temporario);
+
+        Importacao importacao = new Importacao(UUID.randomUUID(), clienteId);
+        importacoes.put(importacao.id, importacao);
+        executor.execute(() -> processar(importacao, temporario));
+        return importacao.toDTO();
+    }
+
+    /**
+     * @param id ID da importação
+     * @param clienteId cliente autenticado
+     * @return andamento da importação
+     * @throws RuntimeException se a importação não existir ou for de outro cliente
+     */
+    public ImportacaoPedidosDTO consultar(UUID id, UUID clienteId) {
+        Importacao importacao = importacoes.get(id);
+        if (importacao == null || !importacao.clienteId.equals(clienteId)) {
+            throw new RuntimeException("Importação não encontrada");
+        }
+        return importacao.toDTO();
+    }
+
+    /**
+     * Esquece as importações concluídas há mais de {@code rsalgados.importacao.retencao}.
+     */
+    @Scheduled(fixedDelayString = "${rsalgados.importacao.limpeza-ms:600000}")
+    public void limparConcluidas() {
+        Instant limite = Instant.now().minus(retencao);
+        importacoes.values().removeIf(i -> i.concluidaEm != null && i.concluidaEm.isBefore(limite));
+    }
+
+    // ===========================
+    // PROCESSAMENTO
+    // ===========================
+
+    private void processar(Importacao importacao, Path arquivo) {
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            importar(importacao, leitor);
+            importacao.concluir(StatusImportacao.CONCLUIDA);
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha na importação {}", importacao.id, e);
+            importacao.erro(0, "Falha ao processar o arquivo: " + e.getMessage());
+            importacao.concluir(StatusImportacao.FALHOU);
+        } finally {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                log.warn("Não foi possível apagar o temporário {}", arquivo, e);
+            }
+        }
+    }
+
+    private void importar(Importacao importacao, BufferedReader leitor) throws IOException {
+        String cabecalho = leitor.readLine();
+        if (cabecalho == null) {
+            importacao.erro(1, "Arquivo vazio");
+            return;
+        }
+        cabecalho = cabecalho.replace("\uFEFF", "");
+        char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        List<String> colunas = dividir(cabecalho, separador).stream().map(c -> c.trim().toLowerCase()).toList();
+        if (!colunas.equals(COLUNAS)) {
+            importacao.erro(1, "Cabeçalho esperado: " + String.join(String.valueOf(separador), COLUNAS));
+            return;
+        }
+
+        List<PedidoImportado> lote = new ArrayList<>(pedidosPorLote);
+        Set<String> chavesVistas = new HashSet<>();
+        PedidoImportado atual = null;
+        long numeroLinha = 1;
+
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            importacao.linhasLidas.incrementAndGet();
+
+            List<String> campos = dividir(linha, separador);
+            String chave = campos.get(0).trim();
+
+            if (atual == null || !atual.chave.equals(chave)) {
+                if (atual != null) {
+                    fechar(importacao, atual, lote);
+                }
+                atual = new PedidoImportado(chave, numeroLinha);
+                if (!chave.isEmpty() && !chavesVistas.add(chave)) {
+                    atual.rejeitado = true;
+                    importacao.erro(numeroLinha, "Pedido '" + chave
+                            + "' já apareceu antes no arquivo; as linhas de um pedido devem ser consecutivas");
+                }
+            }
+
+            ItemImportado item = null;
+            String erro = campos.size() != COLUNAS.size()
+                    ? "Esperadas " + COLUNAS.size() + " colunas, encontradas " + campos.size()
+                    : null;
+            if (erro == null) {
+                String produtoId = campos.get(1).trim();
+                ProdutoDTO produto = buscarProduto(produtoId);
+                Integer quantidade = inteiro(campos.get(2));
+                erro = validar(chave, produtoId, produto, quantidade);
+                item = new ItemImportado(produto, quantidade);
+            }
+
+            if (erro != null) {
+                atual.rejeitado = true;
+                importacao.erro(numeroLinha, erro);
+            } else if (!atual.rejeitado) {
+                atual.itens.add(item);
+            }
+        }
+
+        if (atual != null) {
+            fechar(importacao, atual, lote);
+        }
+        if (!lote.isEmpty()) {
+            gravar(importacao, lote);
+        }
+    }
+
+    /**
+     * Encerra o pedido lido: rejeitado entra na contagem, válido vai para o
+     * lote, que é gravado quando enche.
+     */
+    private void fechar(Importacao importacao, PedidoImportado pedido, List<PedidoImportado> lote) {
+        if (pedido.rejeitado) {
+            importacao.pedidosRejeitados.incrementAndGet();
+            return;
+        }
+        lote.add(pedido);
+        if (lote.size() >= pedidosPorLote) {
+            gravar(importacao, lote);
+        }
+    }
+
+    /**
+     * Grava um lote de pedidos em uma transação: um flush (INSERTs em lotes
+     * JDBC) e o contexto de persistência limpo em seguida.
+     */
+    private void gravar(Importacao importacao, List<PedidoImportado> lote) {
+        try {
+            int itens = transactionTemplate.execute(status -> {
+                Session sessao = entityManager.unwrap(Session.class);
+                sessao.setJdbcBatchSize(pedidosPorLote);
+                // Pedidos importados não são lidos em seguida: não vale a pena povoar o cache L2
+                sessao.setCacheMode(CacheMode.IGNORE);
+
+                Cliente cliente = entityManager.getReference(Cliente.class, importacao.clienteId);
+                List<Pedido> pedidos = new ArrayList<>(lote.size());
+                int total = 0;
+                for (PedidoImportado importado : lote) {
+                    pedidos.add(novoPedido(cliente, importado));
+                    total += importado.itens.size();
+                }
+                for (Pedido pedido : pedidos) {
+                    entityManager.persist(pedido);
+                }
+                entityManager.flush();
+
+                for (Pedido pedido : pedidos) {
+                    eventPublisher.publishEvent(new PedidoCriado(
+                            pedido.getId(),
+                            importacao.clienteId,
+                            pedido.getDataPedido(),
+                            pedido.getValorTotal(),
+                            pedido.getItens().stream()
+                                    .map(i -> new ItemEvento(i.getId(), i.getDescricao(), i.getQuantidade(),
+                                            i.getPrecoUnitario().multiply(BigDecimal.valueOf(i.getQuantidade()))))
+                                    .toList()
+                    ));
+                }
+                entityManager.clear();
+                return total;
+            });
+            importacao.pedidosCriados.addAndGet(lote.size());
+            importacao.itensCriados.addAndGet(itens);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote da importação {}", importacao.id, e);
+            for (PedidoImportado pedido : lote) {
+                importacao.pedidosRejeitados.incrementAndGet();
+                importacao.erro(pedido.linha, "Pedido '" + pedido.chave + "' não gravado: " + e.getMessage());
+            }
+        }
+        lote.clear();
+    }
+
+    private static Pedido novoPedido(Cliente cliente, PedidoImportado importado) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemImportado importadoItem : importado.itens) {
+            ItemPedido item = new ItemPedido();
+            item.setPedido(pedido);
+            item.setProdutoId(importadoItem.produto().id());
+            item.setDescricao(importadoItem.produto().nome());
+            item.setQuantidade(importadoItem.quantidade());
+            item.setPrecoUnitario(importadoItem.produto().preco());
+            pedido.getItens().add(item);
+            total = total.add(importadoItem.produto().preco().multiply(BigDecimal.valueOf(importadoItem.quantidade())));
+        }
+        pedido.setValorTotal(total);
+        return pedido;
+    }
+
+    // ===========================
+    // LEITURA DO CSV
+    // ===========================
+
+    private ProdutoDTO buscarProduto(String produtoId) {
+        try {
+            return catalogoProdutos.buscar(Long.parseLong(produtoId));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String validar(String chave, String produtoId, ProdutoDTO produto, Integer quantidade) {
+        if (chave.isEmpty()) {
+            return "Chave do pedido é obrigatória";
+        }
+        if (produtoId.isEmpty()) {
+            return "Produto é obrigatório";
+        }
+        if (produto == null) {
+            return "Produto não encontrado no catálogo: " + produtoId;
+        }
+        if (quantidade == null || quantidade <= 0) {
+            return "Quantidade deve ser um inteiro maior que zero";
+        }
+        return null;
+    }
+
+    /**
+     * Divide uma linha CSV respeitando campos entre aspas ({@code ""} dentro
+     * das aspas é uma aspa literal). Campos com quebra de linha não são suportados.
+     */
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static Integer inteiro(String valor) {
+        try {
+            return Integer.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record ItemImportado(ProdutoDTO produto, Integer quantidade) {}
+
+    private static final class PedidoImportado {
+        private final String chave;
+        private final long linha;
+        private final List<ItemImportado> itens = new ArrayList<>();
+        private boolean rejeitado;
+
+        private PedidoImportado(String chave, long linha) {
+            this.chave = chave;
+            this.linha = linha;
+        }
+    }
+
+    /**
+     * Estado de uma importação; atualizado pela thread do processamento e
+     * lido pelas consultas de andamento.
+     */
+    private static final class Importacao {
+        private final UUID id;
+        private final UUID clienteId;
+        private final Instant iniciadaEm = Instant.now();
+        private final AtomicLong linhasLidas = new AtomicLong();
+        private final AtomicLong pedidosCriados = new AtomicLong();
+        private final AtomicLong itensCriados = new AtomicLong();
+        private final AtomicLong pedidosRejeitados = new AtomicLong();
+        private final AtomicLong totalErros = new AtomicLong();
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private volatile StatusImportacao status = StatusImportacao.EM_ANDAMENTO;
+        private volatile Instant concluidaEm;
+
+        private Importacao(UUID id, UUID clienteId) {
+            this.id = id;
+            this.clienteId = clienteId;
+        }
+
+        private void erro(long linha, String mensagem) {
+            totalErros.incrementAndGet();
+            synchronized (erros) {
+                if (erros.size() < MAXIMO_ERROS_LISTADOS) {
+                    erros.add(new ErroImportacaoDTO(linha, mensagem));
+                }
+            }
+        }
+
+        private void concluir(StatusImportacao final_) {
+            concluidaEm = Instant.now();
+            status = final_;
+        }
+
+        private ImportacaoPedidosDTO toDTO() {
+            List<ErroImportacaoDTO> copia;
+            synchronized (erros) {
+                copia = List.copyOf(erros);
+            }
+            return new ImportacaoPedidosDTO(id, status, linhasLidas.get(), pedidosCriados.get(), itensCriados.get(),
+                    pedidosRejeitados.get(), totalErros.get(), copia, iniciadaEm, concluidaEm);
+        }
+    }
+}
@@ -2,27 +2,56 @@ package com.salgados.RSalgados.service;
 
 import com.salgados.RSalgados.dto.pedidos.CriarItemPedidoDTO;
 import com.salgados.RSalgados.dto.pedidos.CriarPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.DivergenciaTotalDTO;
+import com.salgados.RSalgados.dto.pedidos.OperacaoItemDTO;
+import com.salgados.RSalgados.dto.pedidos.PaginaPedidosDTO;
 import com.salgados.RSalgados.domain.pedidos.ItemPedido;
 import com.salgados.RSalgados.dto.pedidos.ItemPedidoDTO;
 import com.salgados.RSalgados.domain.pedidos.Pedido;
 import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoItemLinhaDTO;
 import com.salgados.RSalgados.dto.pedidos.PedidoListagemDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoListagemLinhaDTO;
+import com.salgados.RSalgados.dto.pedidos.ResultadoLoteItensDTO;
+import com.salgados.RSalgados.dto.pedidos.ResultadoOperacaoItemDTO;
+import com.salgados.RSalgados.dto.pedidos.TipoOperacaoItem;
+import com.salgados.RSalgados.dto.pedidos.VersaoQuadroDTO;
 import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.domain.pedidos.eventos.ItemAlterado;
+import com.salgados.RSalgados.domain.pedidos.eventos.ItemEvento;
+import com.salgados.RSalgados.domain.pedidos.eventos.PedidoCriado;
+import com.salgados.RSalgados.domain.pedidos.eventos.PedidoPago;
+import com.salgados.RSalgados.domain.pedidos.eventos.StatusAlterado;
 import com.salgados.RSalgados.domain.usuarios.Cliente;
 import com.salgados.RSalgados.domain.usuarios.Role;
 import com.salgados.RSalgados.domain.usuarios.Usuario;
+import com.salgados.RSalgados.dto.produtos.ProdutoDTO;
+import com.salgados.RSalgados.dto.usuarios.UsuarioAutenticado;
+import com.salgados.RSalgados.mapper.PedidoMapper;
 import com.salgados.RSalgados.repository.ClienteRepository;
 import com.salgados.RSalgados.repository.ItemPedidoRepository;
 import com.salgados.RSalgados.repository.PedidoRepository;
 import com.salgados.RSalgados.repository.UsuarioRepository;
+import com.salgados.RSalgados.service.produtos.CatalogoProdutos;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -32,8 +61,10 @@ import java.util.UUID;
  * - Operações CRUD de pedidos (criar, atualizar, deletar, listar)
  * - Operações de itens do pedido (adicionar, atualizar, remover)
  * - Validações de status e permissões
- * - Conversão de entidades para DTOs
+ * - Conversão de entidades para DTOs (via PedidoMapper)
  * - Cálculo de totais
+ * - Preço dos itens de catálogo (snapshot em memória, sem SQL)
+ * - Publicação de eventos de domínio (gravados na outbox pelo EventoOutboxWriter)
  * 
  * Todos os métodos públicos validam se o cliente autenticado tem permissão
  * de acesso ao pedido antes de executar a operação.
@@ -42,35 +73,56 @@ import java.util.UUID;
 @Transactional
 public class PedidoServiceImpl implements PedidoService {
 
+    /** Tamanho máximo de uma página da listagem de pedidos. */
+    public static final int LIMITE_MAXIMO_PAGINA = 100;
+
+    /** Quantidade máxima de operações em um lote de itens. */
+    public static final int LIMITE_MAXIMO_OPERACOES = 200;
+
     private final PedidoRepository pedidoRepository;
     private final ItemPedidoRepository itemPedidoRepository;
     private final UsuarioRepository usuarioRepository;
     private final ClienteRepository clienteRepository;
+    private final PedidoMapper pedidoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache cacheSegundoNivel;
+    private final CatalogoProdutos catalogoProdutos;
 
     public PedidoServiceImpl(PedidoRepository pedidoRepository,
                              ItemPedidoRepository itemPedidoRepository,
                              UsuarioRepository usuarioRepository,
-                             ClienteRepository clienteRepository) {
+                             ClienteRepository clienteRepository,
+                             PedidoMapper pedidoMapper,
+                             ApplicationEventPublisher eventPublisher,
+                             EntityManagerFactory entityManagerFactory,
+                             CatalogoProdutos catalogoProdutos) {
         this.pedidoRepository = pedidoRepository;
         this.itemPedidoRepository = itemPedidoRepository;
         this.usuarioRepository = usuarioRepository;
         this.clienteRepository = clienteRepository;
+        this.pedidoMapper = pedidoMapper;
+        this.eventPublisher = eventPublisher;
+        this.cacheSegundoNivel = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.catalogoProdutos = catalogoProdutos;
     }
 
     // ===========================
     // OPERAÇÕES CRUD - PEDIDOS
     // ===========================
 
-    // ===========================
-    // OPERAÇÕES CRUD - PEDIDOS
-    // ===========================
-
     /**
      * Cria um novo pedido com uma lista de itens.
      * 
+     * <p>O total é calculado em memória antes da persistência e os itens são
+     * gravados em cascata por {@code Pedido.itens}, de forma que o flush envia
+     * um único INSERT do pedido e um lote JDBC com os INSERTs dos itens.
+     * Descrição e preço dos itens vêm do catálogo em memória; itens avulsos
+     * (sem {@code produtoId}) só são aceitos de administradores.
+     * 
      * @param dto Dados do pedido a criar (clienteId + lista de itens)
      * @return PedidoDTO do pedido criado
      * @throws RuntimeException se cliente não encontrado
+     * @throws IllegalStateException se algum produto faltar ou não estiver no catálogo
      */
     @Override
     @Transactional
@@ -80,50 +132,82 @@ public class PedidoServiceImpl implements PedidoService {
         
         Pedido pedido = new Pedido();
         pedido.setCliente(cliente);
-        pedido.setDataPedido(new java.sql.Timestamp(System.currentTimeMillis()));
+        pedido.setDataPedido(Instant.now());
         pedido.setStatusPedido(StatusPedido.CRIADO);
         pedido.setPago(false);
-        pedido.setValorTotal(BigDecimal.ZERO);
-
-        pedido = pedidoRepository.save(pedido);
 
         BigDecimal total = BigDecimal.ZERO;
 
         for (CriarItemPedidoDTO itemDTO : dto.getItens()) {
-            ItemPedido item = new ItemPedido();
-            item.setDescricao(itemDTO.getDescricao());
-            item.setQuantidade(itemDTO.getQuantidade());
-            item.setPrecoUnitario(itemDTO.getValorUnitario());
-            item.setPedido(pedido);
-
-            itemPedidoRepository.save(item);
-
-            total = total.add(
-                itemDTO.getValorUnitario()
-                       .multiply(BigDecimal.valueOf(itemDTO.getQuantidade()))
-            );
+            precificarItemNovo(itemDTO);
+            ItemPedido item = criarItem(pedido, itemDTO);
+            pedido.getItens().add(item);
+            total = total.add(calcularSubtotal(item));
         }
 
         pedido.setValorTotal(total);
-        pedidoRepository.save(pedido);
+        pedido = pedidoRepository.save(pedido);
+
+        eventPublisher.publishEvent(new PedidoCriado(
+                pedido.getId(),
+                cliente.getId(),
+                pedido.getDataPedido(),
+                pedido.getValorTotal(),
+                pedido.getItens().stream().map(this::toItemEvento).toList()
+        ));
 
-        return toPedidoDTO(pedido);
+        return pedidoMapper.toPedidoDTO(pedido);
     }
 
     /**
      * Busca um pedido pelo ID do cliente autenticado.
      * 
+     * <p>Só pedidos finalizados e pagos, que não mudam mais, são servidos do
+     * cache de segundo nível (pedido e itens, sem SQL). O cache é local a cada
+     * instância e não vê as alterações feitas nas outras, então os demais
+     * pedidos vêm sempre de uma única consulta de projeção, filtrada pelo
+     * cliente, e o DTO é montado direto das linhas. Um pedido que acabou de
+     * se tornar imutável é carregado uma vez como entidade para entrar no
+     * cache, depois de descartar o que houver dele de estados anteriores.
+     * Pedidos de outros clientes são tratados como não encontrados.
+     * 
      * @param pedidoId ID do pedido
      * @return PedidoDTO com todos os detalhes
-     * @throws IllegalStateException se cliente não autenticado ou sem permissão
-     * @throws RuntimeException se pedido não encontrado
+     * @throws IllegalStateException se cliente não autenticado
+     * @throws RuntimeException se pedido não encontrado para o cliente
      */
     @Override
     @Transactional(readOnly = true)
     public PedidoDTO buscarPorId(UUID pedidoId) {
-        Cliente cliente = getClienteAutenticado();
-        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, cliente);
-        return toPedidoDTO(pedido);
+        UUID clienteId = getClienteIdAutenticado();
+
+        if (cacheSegundoNivel.contains(Pedido.class, pedidoId)) {
+            Pedido pedido = pedidoRepository.findById(pedidoId)
+                    .filter(p -> p.getCliente() != null && p.getCliente().getId().equals(clienteId))
+                    .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+            if (isImutavel(pedido.getStatusPedido(), pedido.getPago())) {
+                return pedidoMapper.toPedidoDTO(pedido);
+            }
+        }
+
+        List<PedidoItemLinhaDTO> linhas = pedidoRepository.buscarLinhasDoCliente(pedidoId, clienteId);
+        if (linhas.isEmpty()) {
+            throw new RuntimeException("Pedido não encontrado");
+        }
+
+        PedidoItemLinhaDTO cabecalho = linhas.get(0);
+        if (isImutavel(cabecalho.statusPedido(), cabecalho.pago())) {
+            // Entradas de quando o pedido ainda mudava podem estar desatualizadas
+            cacheSegundoNivel.evictEntityData(Pedido.class, pedidoId);
+            cacheSegundoNivel.evictCollectionData(Pedido.class.getName() + ".itens", pedidoId);
+            for (PedidoItemLinhaDTO linha : linhas) {
+                if (linha.itemId() != null) {
+                    cacheSegundoNivel.evictEntityData(ItemPedido.class, linha.itemId());
+                }
+            }
+            pedidoRepository.findById(pedidoId).ifPresent(pedido -> Hibernate.initialize(pedido.getItens()));
+        }
+        return pedidoMapper.toPedidoDTO(linhas);
     }
 
     /**
@@ -136,99 +220,258 @@ public class PedidoServiceImpl implements PedidoService {
      */
     @Override
     public PedidoDTO marcarComoPago(UUID pedidoId) {
-        Cliente cliente = getClienteAutenticado();
-        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, cliente);
-        pedido.setPago(true);
+        Pedido pedido = pedidoRepository.buscarComItensDoCliente(pedidoId, getClienteIdAutenticado())
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        if (!Boolean.TRUE.equals(pedido.getPago())) {
+            pedido.setPago(true);
+            pedidoRepository.save(pedido);
+            eventPublisher.publishEvent(new PedidoPago(
+                    pedido.getId(), pedido.getDataPedido(), pedido.getStatusPedido(), pedido.getValorTotal()));
+        }
+        return pedidoMapper.toPedidoDTO(pedido);
+    }
+
+    /**
+     * Avança o status de produção de um pedido (uso administrativo).
+     * 
+     * <p>Só é permitido avançar para o status seguinte do fluxo
+     * CRIADO → EM_PRODUCAO → PRONTO → PARA_ENTREGAR → FINALIZADO.
+     * 
+     * @param pedidoId ID do pedido
+     * @param novoStatus status de destino
+     * @return PedidoDTO atualizado
+     * @throws IllegalStateException se a transição não for permitida
+     * @throws RuntimeException se pedido não encontrado
+     */
+    public PedidoDTO alterarStatus(UUID pedidoId, StatusPedido novoStatus) {
+        Pedido pedido = pedidoRepository.findById(pedidoId)
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+
+        StatusPedido atual = pedido.getStatusPedido() != null ? pedido.getStatusPedido() : StatusPedido.CRIADO;
+        if (novoStatus == null || novoStatus.ordinal() != atual.ordinal() + 1) {
+            throw new IllegalStateException("Transição de status inválida: " + atual + " -> " + novoStatus);
+        }
+
+        pedido.setStatusPedido(novoStatus);
         pedidoRepository.save(pedido);
-        return toPedidoDTO(pedido);
+        eventPublisher.publishEvent(new StatusAlterado(
+                pedido.getId(), pedido.getDataPedido(), atual, novoStatus, pedido.getPago(), pedido.getValorTotal()));
+
+        return pedidoMapper.toPedidoDTO(pedido);
     }
 
     /**
-     * Atualiza um pedido existente (cliente e itens).
-     * Limpa todos os itens antigos e adiciona os novos.
+     * Atualiza os itens de um pedido do cliente autenticado, reconciliando
+     * a lista recebida com a atual pelo ID de cada item.
+     * 
+     * <p>Itens com ID são atualizados (só geram UPDATE se algo mudou), itens
+     * sem ID são inseridos e itens ausentes da lista são removidos. Tudo vai
+     * para o banco em um único flush, então o custo é proporcional ao que mudou.
+     * O total é recalculado em memória. O pedido continua pertencendo ao
+     * cliente autenticado; o {@code clienteId} do DTO é ignorado.
      * 
      * @param id ID do pedido
-     * @param dto Novos dados (clienteId + itens)
-     * @throws RuntimeException se pedido ou cliente não encontrado
+     * @param dto Novos dados (itens, com o ID dos que já existiam)
+     * @throws RuntimeException se pedido não encontrado ou item não pertencer ao pedido
+     * @throws IllegalStateException se o status não permitir alteração ou a quantidade for inválida
      */
     public void atualizarPedido(UUID id, CriarPedidoDTO dto) {
-        Pedido pedido = pedidoRepository.findById(id)
+        Pedido pedido = pedidoRepository.buscarComItensDoCliente(id, getClienteIdAutenticado())
             .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
 
-        pedido.getItens().clear();
-        pedidoRepository.saveAndFlush(pedido);
-        
-        if (dto.getClienteId() != null) {
-            Cliente cliente = clienteRepository.findById(dto.getClienteId())
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
-            pedido.setCliente(cliente);
+        if (!podeAlterarPedido(pedido)) {
+            throw new IllegalStateException("Pedido não pode ser alterado. Status: " + pedido.getStatusPedido());
         }
-        
-        if (dto.getItens() != null) {
-            for (CriarItemPedidoDTO itemDTO : dto.getItens()) {
-                ItemPedido item = new ItemPedido();
-                item.setDescricao(itemDTO.getDescricao());
-                item.setQuantidade(itemDTO.getQuantidade());
-                item.setPrecoUnitario(itemDTO.getValorUnitario());
-                item.setPedido(pedido);
-                pedido.getItens().add(item);
+
+        Map<UUID, ItemPedido> removidos = new HashMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            removidos.put(item.getId(), item);
+        }
+
+        List<ItemPedido> adicionados = new ArrayList<>();
+        List<CriarItemPedidoDTO> itens = dto.getItens() != null ? dto.getItens() : List.of();
+        for (CriarItemPedidoDTO itemDTO : itens) {
+            if (itemDTO.getQuantidade() == null || itemDTO.getQuantidade() <= 0) {
+                throw new IllegalStateException("Quantidade deve ser maior que zero");
+            }
+
+            if (itemDTO.getId() == null) {
+                precificarItemNovo(itemDTO);
+                ItemPedido novo = criarItem(pedido, itemDTO);
+                pedido.getItens().add(novo);
+                adicionados.add(novo);
+                continue;
+            }
+
+            ItemPedido item = removidos.remove(itemDTO.getId());
+            if (item == null) {
+                throw new RuntimeException("Item não pertence ao pedido");
+            }
+            precificarItemExistente(item, itemDTO);
+            if (!foiAlterado(item, itemDTO)) {
+                continue;
             }
+
+            BigDecimal subtotalAnterior = calcularSubtotal(item);
+            int quantidadeAnterior = quantidadeDe(item);
+            String descricaoAnterior = item.getDescricao();
+            item.setProdutoId(itemDTO.getProdutoId());
+            item.setDescricao(itemDTO.getDescricao());
+            item.setQuantidade(itemDTO.getQuantidade());
+            item.setPrecoUnitario(itemDTO.getValorUnitario());
+            publicarItemAlterado(pedido, item.getId(), descricaoAnterior, item.getDescricao(),
+                    quantidadeAnterior, quantidadeDe(item), subtotalAnterior, calcularSubtotal(item));
+        }
+
+        // orphanRemoval transforma as remoções da coleção em DELETE
+        pedido.getItens().removeIf(item -> removidos.containsKey(item.getId()));
+        for (ItemPedido removido : removidos.values()) {
+            publicarItemAlterado(pedido, removido.getId(), removido.getDescricao(),
+                    quantidadeDe(removido), 0, calcularSubtotal(removido), BigDecimal.ZERO);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemPedido item : pedido.getItens()) {
+            total = total.add(calcularSubtotal(item));
+        }
+        pedido.setValorTotal(total);
+        pedido.registrarAlteracao();
+        // Flush para os itens novos receberem ID antes dos eventos
+        pedidoRepository.saveAndFlush(pedido);
+
+        for (ItemPedido novo : adicionados) {
+            publicarItemAlterado(pedido, novo.getId(), novo.getDescricao(),
+                    0, quantidadeDe(novo), BigDecimal.ZERO, calcularSubtotal(novo));
         }
-        pedidoRepository.save(pedido);
-        recalcularTotal(pedido);
     }
 
     /**
      * Lista todos os pedidos do cliente autenticado com informações resumidas.
      * 
+     * <p>Sem limite de tamanho: para históricos longos prefira
+     * {@link #listarPaginaPorClienteAutenticado}.
+     * 
      * @return Lista de PedidoListagemDTO formatados
      * @throws IllegalStateException se cliente não autenticado
      */
     @Transactional(readOnly = true)
     public List<PedidoListagemDTO> listarPorClienteAutenticado() {
-        Cliente cliente = getClienteAutenticado();
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
-        
-        return pedidoRepository.getByCliente(cliente)
+        return pedidoRepository.listarResumoDoCliente(getClienteIdAutenticado())
             .stream()
-            .map(p -> {
-                StatusPedido status = p.getStatusPedido() != null
-                        ? p.getStatusPedido()
-                        : StatusPedido.CRIADO;
-
-                String data = p.getDataPedido() != null
-                        ? sdf.format(p.getDataPedido())
-                        : "";
-
-                return new PedidoListagemDTO(
-                    p.getId(),
-                    data,
-                    p.getValorTotal(),
-                    p.getPago(),
-                    status
-                );
-            })
+            .map(pedidoMapper::toListagemDTO)
             .toList();
     }
 
+    /**
+     * Lista uma página dos pedidos do cliente autenticado, do mais recente
+     * para o mais antigo, com paginação por cursor (keyset sobre data e ID).
+     * 
+     * <p>Cada página custa uma consulta indexada, independente de quantas
+     * páginas vieram antes.
+     * 
+     * @param cursor token opaco devolvido na página anterior, ou null para a primeira
+     * @param status filtro opcional de status
+     * @param pago filtro opcional de pagamento
+     * @param limite quantidade máxima de pedidos na página (1 a {@value #LIMITE_MAXIMO_PAGINA})
+     * @return página com os pedidos e o cursor da próxima página (null se for a última)
+     * @throws IllegalStateException se cliente não autenticado
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    @Transactional(readOnly = true)
+    public PaginaPedidosDTO listarPaginaPorClienteAutenticado(String cursor, StatusPedido status,
+                                                              Boolean pago, int limite) {
+        UUID clienteId = getClienteIdAutenticado();
+        int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO_PAGINA);
+        // Busca um a mais para saber se existe próxima página
+        Limit limiteConsulta = Limit.of(tamanho + 1);
+
+        List<PedidoListagemLinhaDTO> linhas;
+        if (cursor == null || cursor.isBlank()) {
+            linhas = pedidoRepository.listarPrimeiraPaginaDoCliente(clienteId, status, pago, limiteConsulta);
+        } else {
+            CursorPedido posicao = CursorPedido.decodificar(cursor);
+            linhas = pedidoRepository.listarPaginaDoClienteApos(
+                    clienteId, status, pago, posicao.instante(), posicao.id(), limiteConsulta);
+        }
+
+        String proximoCursor = null;
+        if (linhas.size() > tamanho) {
+            linhas = linhas.subList(0, tamanho);
+            PedidoListagemLinhaDTO ultima = linhas.get(tamanho - 1);
+            proximoCursor = new CursorPedido(ultima.dataPedido(), ultima.id()).codificar();
+        }
+
+        return new PaginaPedidosDTO(
+                linhas.stream().map(pedidoMapper::toListagemDTO).toList(),
+                proximoCursor
+        );
+    }
+
+    // ===========================
+    // VERSÕES PARA CACHE HTTP (ETAG)
+    // ===========================
+
+    /**
+     * Calcula o ETag do detalhe de um pedido do cliente autenticado.
+     * 
+     * <p>O ETag é a versão ({@code @Version}) do pedido, que avança a cada
+     * alteração do pedido ou dos seus itens. Custa uma busca pela chave
+     * primária, sem carregar itens.
+     * 
+     * @param pedidoId ID do pedido
+     * @return ETag forte, já entre aspas
+     * @throws IllegalStateException se cliente não autenticado
+     * @throws RuntimeException se pedido não encontrado para o cliente
+     */
+    @Transactional(readOnly = true)
+    public String calcularEtagPedido(UUID pedidoId) {
+        Long versao = pedidoRepository.buscarVersaoDoCliente(pedidoId, getClienteIdAutenticado())
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        return "\"" + pedidoId + "-" + versao + "\"";
+    }
+
+    /**
+     * Calcula o ETag da listagem de pedidos do cliente autenticado.
+     * 
+     * <p>Combina a quantidade de pedidos do cliente com a última alteração
+     * entre eles: qualquer pedido criado, alterado ou removido muda o valor.
+     * Vale para todas as páginas e filtros, já que o navegador guarda um
+     * ETag por URL.
+     * 
+     * <p>A consulta conta todo o histórico do cliente (só pelo índice
+     * {@code idx_pedido_cliente_atualizado}), então fica mais cara para
+     * clientes com muitos pedidos.
+     * 
+     * @return ETag forte, já entre aspas
+     * @throws IllegalStateException se cliente não autenticado
+     */
+    @Transactional(readOnly = true)
+    public String calcularEtagListagem() {
+        UUID clienteId = getClienteIdAutenticado();
+        VersaoQuadroDTO versao = pedidoRepository.resumirDoCliente(clienteId);
+        Instant ultima = versao.ultimaAlteracao() != null ? versao.ultimaAlteracao() : Instant.EPOCH;
+        return "\"" + clienteId
+                + "-" + versao.totalPedidos()
+                + "-" + ultima.getEpochSecond() + "." + ultima.getNano() + "\"";
+    }
+
     // ===========================
     // OPERAÇÕES CRUD - ITENS
     // ===========================
 
     /**
      * Adiciona um novo item a um pedido existente.
-     * Recalcula o total do pedido automaticamente.
+     * Soma o subtotal do item ao total do pedido.
      * 
      * @param pedidoId ID do pedido
-     * @param dto Dados do item (descrição, quantidade, preço)
+     * @param dto Dados do item (produto do catálogo e quantidade)
      * @return ItemPedidoDTO do item criado
-     * @throws IllegalStateException se pedido em status não editável
+     * @throws IllegalStateException se pedido em status não editável ou produto fora do catálogo
      * @throws RuntimeException se pedido não encontrado
      */
     @Override
     public ItemPedidoDTO adicionarItem(UUID pedidoId, CriarItemPedidoDTO dto) {
-        Cliente cliente = getClienteAutenticado();
-        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, cliente);
+        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, getClienteIdAutenticado());
 
         if (!podeAlterarPedido(pedido)) {
             throw new IllegalStateException("Pedido não pode ser alterado. Status: " + pedido.getStatusPedido());
@@ -238,21 +481,21 @@ public class PedidoServiceImpl implements PedidoService {
             throw new IllegalStateException("Quantidade deve ser maior que zero");
         }
 
-        ItemPedido item = new ItemPedido();
-        item.setPedido(pedido);
-        item.setDescricao(dto.getDescricao());
-        item.setQuantidade(dto.getQuantidade());
-        item.setPrecoUnitario(dto.getValorUnitario());
+        precificarItemNovo(dto);
+        ItemPedido item = criarItem(pedido, dto);
 
         itemPedidoRepository.save(item);
-        recalcularTotal(pedido);
+        aplicarDiferencaNoTotal(pedido, BigDecimal.ZERO, calcularSubtotal(item));
+        publicarItemAlterado(pedido, item.getId(), item.getDescricao(),
+                0, quantidadeDe(item), BigDecimal.ZERO, calcularSubtotal(item));
 
-        return toItemDTO(item);
+        return pedidoMapper.toItemDTO(item);
     }
 
     /**
      * Atualiza um item existente no pedido.
      * Se quantidade <= 0, remove o item.
+     * O subtotal antigo do item é substituído pelo novo no total do pedido.
      * 
      * @param pedidoId ID do pedido
      * @param itemId ID do item
@@ -262,8 +505,7 @@ public class PedidoServiceImpl implements PedidoService {
      * @throws RuntimeException se pedido ou item não encontrado
      */
     public ItemPedidoDTO atualizarItem(UUID pedidoId, UUID itemId, CriarItemPedidoDTO dto) {
-        Cliente cliente = getClienteAutenticado();
-        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, cliente);
+        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, getClienteIdAutenticado());
 
         if (!podeAlterarPedido(pedido)) {
             throw new IllegalStateException("Pedido não pode ser alterado. Status: " + pedido.getStatusPedido());
@@ -276,22 +518,33 @@ public class PedidoServiceImpl implements PedidoService {
             throw new RuntimeException("Item não pertence ao pedido");
         }
 
+        BigDecimal subtotalAnterior = calcularSubtotal(item);
+        BigDecimal subtotalNovo = BigDecimal.ZERO;
+        int quantidadeAnterior = quantidadeDe(item);
+        String descricaoAnterior = item.getDescricao();
+
         if (dto.getQuantidade() <= 0) {
             itemPedidoRepository.delete(item);
         } else {
+            precificarItemExistente(item, dto);
+            item.setProdutoId(dto.getProdutoId());
+            item.setDescricao(dto.getDescricao());
             item.setQuantidade(dto.getQuantidade());
             item.setPrecoUnitario(dto.getValorUnitario());
             itemPedidoRepository.save(item);
+            subtotalNovo = calcularSubtotal(item);
         }
 
-        recalcularTotal(pedido);
+        aplicarDiferencaNoTotal(pedido, subtotalAnterior, subtotalNovo);
+        publicarItemAlterado(pedido, item.getId(), descricaoAnterior, item.getDescricao(),
+                quantidadeAnterior, Math.max(dto.getQuantidade(), 0), subtotalAnterior, subtotalNovo);
 
-        return dto.getQuantidade() <= 0 ? null : toItemDTO(item);
+        return dto.getQuantidade() <= 0 ? null : pedidoMapper.toItemDTO(item);
     }
 
     /**
      * Remove um item do pedido.
-     * Recalcula o total do pedido automaticamente.
+     * Subtrai o subtotal do item do total do pedido.
      * 
      * @param pedidoId ID do pedido
      * @param itemId ID do item
@@ -300,8 +553,7 @@ public class PedidoServiceImpl implements PedidoService {
      */
     @Override
     public void removerItem(UUID pedidoId, UUID itemId) {
-        Cliente cliente = getClienteAutenticado();
-        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, cliente);
+        Pedido pedido = buscarEntidadePorIdDoCliente(pedidoId, getClienteIdAutenticado());
 
         if (!podeAlterarPedido(pedido)) {
             throw new IllegalStateException("Pedido não pode ser alterado. Status: " + pedido.getStatusPedido());
@@ -315,7 +567,171 @@ public class PedidoServiceImpl implements PedidoService {
         }
 
         itemPedidoRepository.delete(item);
-        recalcularTotal(pedido);
+        aplicarDiferencaNoTotal(pedido, calcularSubtotal(item), BigDecimal.ZERO);
+        publicarItemAlterado(pedido, item.getId(), item.getDescricao(),
+                quantidadeDe(item), 0, calcularSubtotal(item), BigDecimal.ZERO);
+    }
+
+    /**
+     * Aplica um lote de operações sobre os itens de um pedido em uma única transação.
+     * 
+     * <p>Posse e status do pedido são verificados uma vez. Todas as operações
+     * são validadas antes de qualquer escrita: se alguma for inválida, nenhuma
+     * é aplicada. Caso contrário, as alterações vão para o banco em um único
+     * flush (em lotes JDBC) e o total é recalculado em memória.
+     * 
+     * <p>Em {@code ATUALIZAR}, quantidade <= 0 remove o item, como em
+     * {@link #atualizarItem}.
+     * 
+     * @param pedidoId ID do pedido
+     * @param operacoes operações, aplicadas na ordem enviada
+     * @return resultado de cada operação e o total final
+     * @throws IllegalStateException se pedido em status não editável ou lote acima do limite
+     * @throws RuntimeException se pedido não encontrado
+     */
+    public ResultadoLoteItensDTO aplicarOperacoesItens(UUID pedidoId, List<OperacaoItemDTO> operacoes) {
+        if (operacoes.size() > LIMITE_MAXIMO_OPERACOES) {
+            throw new IllegalStateException("Lote excede o limite de " + LIMITE_MAXIMO_OPERACOES + " operações");
+        }
+
+        Pedido pedido = pedidoRepository.buscarComItensDoCliente(pedidoId, getClienteIdAutenticado())
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+
+        if (!podeAlterarPedido(pedido)) {
+            throw new IllegalStateException("Pedido não pode ser alterado. Status: " + pedido.getStatusPedido());
+        }
+
+        Map<UUID, ItemPedido> itensPorId = new HashMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            itensPorId.put(item.getId(), item);
+        }
+
+        // 1ª passada: só validação, contra o estado que o lote vai produzindo
+        Set<UUID> removidos = new HashSet<>();
+        List<String> erros = new ArrayList<>(operacoes.size());
+        boolean valido = true;
+        for (OperacaoItemDTO operacao : operacoes) {
+            String erro = validarOperacao(operacao, itensPorId, removidos);
+            if (erro == null && removeItem(operacao)) {
+                removidos.add(operacao.getItemId());
+            }
+            erros.add(erro);
+            valido &= erro == null;
+        }
+
+        List<ResultadoOperacaoItemDTO> resultados = new ArrayList<>(operacoes.size());
+        if (!valido) {
+            for (int i = 0; i < operacoes.size(); i++) {
+                resultados.add(new ResultadoOperacaoItemDTO(
+                        i, operacoes.get(i).getTipo(), erros.get(i) == null, erros.get(i), null));
+            }
+            return new ResultadoLoteItensDTO(pedido.getId(), false, pedido.getValorTotal(), resultados);
+        }
+
+        // 2ª passada: aplica na coleção; o flush grava tudo de uma vez
+        List<ItemPedido> afetados = new ArrayList<>(operacoes.size());
+        List<ItemPedido> adicionados = new ArrayList<>();
+        for (OperacaoItemDTO operacao : operacoes) {
+            if (operacao.getTipo() == TipoOperacaoItem.ADICIONAR) {
+                ProdutoDTO produto = buscarNoCatalogo(operacao.getProdutoId());
+                ItemPedido novo = new ItemPedido();
+                novo.setPedido(pedido);
+                novo.setProdutoId(produto.id());
+                novo.setDescricao(produto.nome());
+                novo.setQuantidade(operacao.getQuantidade());
+                novo.setPrecoUnitario(produto.preco());
+                pedido.getItens().add(novo);
+                // persist já atribui o ID; o merge em cascata do saveAndFlush
+                // gerenciaria uma cópia e deixaria este objeto sem ID
+                itemPedidoRepository.save(novo);
+                adicionados.add(novo);
+                afetados.add(novo);
+                continue;
+            }
+
+            ItemPedido item = itensPorId.get(operacao.getItemId());
+            BigDecimal subtotalAnterior = calcularSubtotal(item);
+            int quantidadeAnterior = quantidadeDe(item);
+
+            if (removeItem(operacao)) {
+                // orphanRemoval transforma a remoção da coleção em DELETE
+                pedido.getItens().remove(item);
+                afetados.add(null);
+                publicarItemAlterado(pedido, item.getId(), item.getDescricao(),
+                        quantidadeAnterior, 0, subtotalAnterior, BigDecimal.ZERO);
+                continue;
+            }
+
+            // Preço e descrição gravados só mudam se o item trocar de produto
+            String descricaoAnterior = item.getDescricao();
+            if (trocaDeProduto(item, operacao.getProdutoId())) {
+                ProdutoDTO produto = buscarNoCatalogo(operacao.getProdutoId());
+                item.setProdutoId(produto.id());
+                item.setDescricao(produto.nome());
+                item.setPrecoUnitario(produto.preco());
+            }
+            item.setQuantidade(operacao.getQuantidade());
+            afetados.add(item);
+            publicarItemAlterado(pedido, item.getId(), descricaoAnterior, item.getDescricao(),
+                    quantidadeAnterior, quantidadeDe(item), subtotalAnterior, calcularSubtotal(item));
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemPedido item : pedido.getItens()) {
+            total = total.add(calcularSubtotal(item));
+        }
+        pedido.setValorTotal(total);
+        pedido.registrarAlteracao();
+        // Flush aqui: conflito de versão ou constraint falha nesta chamada, não no commit
+        pedidoRepository.saveAndFlush(pedido);
+
+        for (ItemPedido novo : adicionados) {
+            publicarItemAlterado(pedido, novo.getId(), novo.getDescricao(),
+                    0, quantidadeDe(novo), BigDecimal.ZERO, calcularSubtotal(novo));
+        }
+
+        for (int i = 0; i < operacoes.size(); i++) {
+            ItemPedido item = afetados.get(i);
+            resultados.add(new ResultadoOperacaoItemDTO(i, operacoes.get(i).getTipo(), true, null,
+                    item != null ? pedidoMapper.toItemDTO(item) : null));
+        }
+        return new ResultadoLoteItensDTO(pedido.getId(), true, total, resultados);
+    }
+
+    // ===========================
+    // AUDITORIA DE TOTAIS
+    // ===========================
+
+    /**
+     * Lista os pedidos cujo {@code valorTotal} gravado diverge da soma dos itens.
+     * 
+     * <p>A soma é feita no banco, com um único {@code SUM ... GROUP BY}
+     * sobre todos os pedidos.
+     * 
+     * @return divergências encontradas (vazia se tudo estiver consistente)
+     */
+    @Transactional(readOnly = true)
+    public List<DivergenciaTotalDTO> buscarDivergenciasDeTotal() {
+        return pedidoRepository.buscarDivergenciasDeTotal();
+    }
+
+    /**
+     * Recalcula o valor total de um pedido a partir dos itens persistidos,
+     * usando um {@code SUM} no banco. Usado para corrigir divergências
+     * apontadas pela auditoria.
+     * 
+     * @param pedidoId ID do pedido
+     * @return PedidoDTO com o total corrigido
+     * @throws RuntimeException se pedido não encontrado
+     */
+    public PedidoDTO recalcularTotal(UUID pedidoId) {
+        Pedido pedido = pedidoRepository.findById(pedidoId)
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+
+        BigDecimal total = itemPedidoRepository.somarSubtotais(pedidoId);
+        pedido.setValorTotal(total == null ? BigDecimal.ZERO : total);
+        pedidoRepository.save(pedido);
+        return pedidoMapper.toPedidoDTO(pedido);
     }
 
     // ===========================
@@ -323,17 +739,31 @@ public class PedidoServiceImpl implements PedidoService {
     // ===========================
 
     /**
-     * Obtém o cliente autenticado a partir do contexto de segurança.
+     * Obtém o ID do cliente autenticado a partir do contexto de segurança.
      * 
-     * @return Cliente autenticado
-     * @throws IllegalStateException se não autenticado ou cliente não encontrado
+     * <p>Quando o principal é um {@link UsuarioAutenticado} (login via formulário),
+     * o ID já vem resolvido da sessão e nenhuma consulta é feita. Para outros
+     * tipos de autenticação, recorre ao banco pelo e-mail.
+     * 
+     * @return ID do cliente autenticado
+     * @throws IllegalStateException se não autenticado, não for cliente ou cliente não encontrado
      */
-    public Cliente getClienteAutenticado() {
+    public UUID getClienteIdAutenticado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalStateException("Usuário não autenticado");
         }
 
+        if (authentication.getPrincipal() instanceof UsuarioAutenticado usuarioAutenticado) {
+            if (usuarioAutenticado.getRole() != Role.CLIENTE) {
+                throw new IllegalStateException("Apenas clientes podem criar pedidos");
+            }
+            if (usuarioAutenticado.getClienteId() == null) {
+                throw new IllegalStateException("Cliente não encontrado para o usuário autenticado");
+            }
+            return usuarioAutenticado.getClienteId();
+        }
+
         String email = authentication.getName();
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalStateException("Usuário não encontrado"));
@@ -343,29 +773,107 @@ public class PedidoServiceImpl implements PedidoService {
         }
 
         return clienteRepository.findByUsuarioId(usuario.getId())
-                .orElseThrow(() -> new IllegalStateException("Cliente não encontrado para o usuário autenticado"));
+                .orElseThrow(() -> new IllegalStateException("Cliente não encontrado para o usuário autenticado"))
+                .getId();
+    }
+
+    /**
+     * Obtém o cliente autenticado a partir do contexto de segurança.
+     * 
+     * <p>Retorna uma referência (proxy) sem carregar a entidade; ler
+     * campos além do ID dispara a consulta.
+     * 
+     * @return Cliente autenticado
+     * @throws IllegalStateException se não autenticado ou cliente não encontrado
+     */
+    public Cliente getClienteAutenticado() {
+        return clienteRepository.getReferenceById(getClienteIdAutenticado());
     }
 
     /**
      * Busca um pedido pelo ID verificando se pertence ao cliente informado.
      * 
+     * <p>A comparação usa apenas a chave estrangeira do pedido; a entidade
+     * Cliente não é carregada.
+     * 
      * @param id ID do pedido
-     * @param cliente Cliente proprietário
+     * @param clienteId ID do cliente proprietário
      * @return Entidade Pedido
      * @throws RuntimeException se pedido não encontrado
      * @throws IllegalStateException se pedido não pertence ao cliente
      */
-    private Pedido buscarEntidadePorIdDoCliente(UUID id, Cliente cliente) {
+    private Pedido buscarEntidadePorIdDoCliente(UUID id, UUID clienteId) {
         Pedido pedido = pedidoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
 
-        if (pedido.getCliente() == null || !pedido.getCliente().getId().equals(cliente.getId())) {
+        if (pedido.getCliente() == null || !pedido.getCliente().getId().equals(clienteId)) {
             throw new IllegalStateException("Pedido não pertence ao cliente autenticado");
         }
 
         return pedido;
     }
 
+    /**
+     * Valida uma operação do lote contra os itens do pedido.
+     * 
+     * @param operacao Operação a validar
+     * @param itensPorId Itens atuais do pedido, por ID
+     * @param removidos IDs já removidos por operações anteriores do mesmo lote
+     * @return mensagem de erro, ou null se a operação é válida
+     */
+    private String validarOperacao(OperacaoItemDTO operacao, Map<UUID, ItemPedido> itensPorId, Set<UUID> removidos) {
+        if (operacao.getTipo() == null) {
+            return "Tipo da operação é obrigatório";
+        }
+
+        if (operacao.getTipo() != TipoOperacaoItem.ADICIONAR) {
+            if (operacao.getItemId() == null || !itensPorId.containsKey(operacao.getItemId())) {
+                return "Item não pertence ao pedido";
+            }
+            if (removidos.contains(operacao.getItemId())) {
+                return "Item já removido neste lote";
+            }
+        }
+
+        return switch (operacao.getTipo()) {
+            case ADICIONAR -> {
+                if (operacao.getQuantidade() == null || operacao.getQuantidade() <= 0) {
+                    yield "Quantidade deve ser maior que zero";
+                }
+                yield validarProduto(operacao.getProdutoId());
+            }
+            case ATUALIZAR -> {
+                if (operacao.getQuantidade() == null) {
+                    yield "Quantidade é obrigatória";
+                }
+                if (operacao.getQuantidade() <= 0) {
+                    yield null;
+                }
+                yield trocaDeProduto(itensPorId.get(operacao.getItemId()), operacao.getProdutoId())
+                        ? validarProduto(operacao.getProdutoId()) : null;
+            }
+            case REMOVER -> null;
+        };
+    }
+
+    private String validarProduto(Long produtoId) {
+        if (produtoId == null) {
+            return "Produto é obrigatório";
+        }
+        if (catalogoProdutos.buscar(produtoId) == null) {
+            return "Produto não encontrado no catálogo: " + produtoId;
+        }
+        return null;
+    }
+
+    /**
+     * Indica se a operação (já validada) tira o item do pedido.
+     */
+    private boolean removeItem(OperacaoItemDTO operacao) {
+        return operacao.getTipo() == TipoOperacaoItem.REMOVER
+                || (operacao.getTipo() == TipoOperacaoItem.ATUALIZAR && operacao.getQuantidade() <= 0);
+    }
+
     /**
      * Verifica se um pedido pode ser alterado baseado no seu status.
      * Apenas pedidos em status CRIADO ou EM_PRODUCAO podem ser alterados.
@@ -373,6 +881,14 @@ public class PedidoServiceImpl implements PedidoService {
      * @param pedido Pedido a verificar
      * @return true se pode ser alterado, false caso contrário
      */
+    /**
+     * Pedido finalizado e pago: nenhuma operação altera mais pedido ou itens,
+     * então pode ser servido do cache de segundo nível.
+     */
+    private boolean isImutavel(StatusPedido status, Boolean pago) {
+        return status == StatusPedido.FINALIZADO && Boolean.TRUE.equals(pago);
+    }
+
     private boolean podeAlterarPedido(Pedido pedido) {
         if (pedido.getStatusPedido() == null) {
             return true; // Se não tem status, considera como CRIADO
@@ -388,12 +904,7 @@ public class PedidoServiceImpl implements PedidoService {
      * @return true se existe pedido não pago, false caso contrário
      */
     boolean existePedidoPendentePagamento(Cliente cliente) {
-        for (Pedido pedido : cliente.getPedidos()) {
-            if (!pedido.getPago()) {
-                return true;
-            }
-        }
-        return false;
+        return pedidoRepository.existsByClienteIdAndPagoFalse(cliente.getId());
     }
 
     // ===========================
@@ -401,82 +912,165 @@ public class PedidoServiceImpl implements PedidoService {
     // ===========================
 
     /**
-     * Converte uma entidade Pedido para PedidoDTO.
-     * Inclui todos os detalhes do pedido e lista de itens.
+     * Cria um novo item vinculado ao pedido, sem persisti-lo.
      * 
-     * @param pedido Entidade a converter
-     * @return PedidoDTO com dados completos
+     * @param pedido Pedido dono do item
+     * @param dto Dados do item (descrição, quantidade, preço)
+     * @return Entidade ItemPedido ainda transiente
      */
-    private PedidoDTO toPedidoDTO(Pedido pedido) {
-        StatusPedido status = pedido.getStatusPedido() != null
-                ? pedido.getStatusPedido()
-                : StatusPedido.CRIADO;
+    private ItemPedido criarItem(Pedido pedido, CriarItemPedidoDTO dto) {
+        ItemPedido item = new ItemPedido();
+        item.setPedido(pedido);
+        item.setProdutoId(dto.getProdutoId());
+        item.setDescricao(dto.getDescricao());
+        item.setQuantidade(dto.getQuantidade());
+        item.setPrecoUnitario(dto.getValorUnitario());
+        return item;
+    }
 
-        return new PedidoDTO(
-                pedido.getId(),
-                pedido.getDataPedido(),
-                pedido.getValorTotal(),
-                pedido.getPago(),
-                status,
-                pedido.getItens() == null ? java.util.List.of() :
-                        pedido.getItens().stream().map(this::toItemDTO).toList(),
-                pedido.getCliente().getId()
-        );
+    /**
+     * Define no DTO a descrição e o valor unitário de um item novo, a partir
+     * do catálogo em memória do {@link CatalogoProdutos}: nenhum SQL por item
+     * e nenhum preço vindo do cliente. Itens avulsos (sem {@code produtoId},
+     * com descrição e preço do DTO) só são aceitos de administradores.
+     * 
+     * @param dto Dados do item
+     * @throws IllegalStateException se o produto faltar ou não estiver no catálogo
+     */
+    private void precificarItemNovo(CriarItemPedidoDTO dto) {
+        if (dto.getProdutoId() == null) {
+            if (!isAdministrador()) {
+                throw new IllegalStateException("Produto é obrigatório");
+            }
+            return;
+        }
+        ProdutoDTO produto = buscarNoCatalogo(dto.getProdutoId());
+        dto.setDescricao(produto.nome());
+        dto.setValorUnitario(produto.preco());
     }
 
     /**
-     * Converte uma entidade ItemPedido para ItemPedidoDTO.
-     * Calcula o subtotal se não estiver preenchido.
+     * Define no DTO a descrição e o valor unitário de um item já gravado.
      * 
-     * @param item Entidade a converter
-     * @return ItemPedidoDTO com dados completos
+     * <p>O item mantém o preço e a descrição com que entrou no pedido:
+     * mudanças posteriores no catálogo (preço novo, produto desativado) não
+     * o afetam. Só a troca de produto reprecifica pelo catálogo. O que o
+     * cliente enviar em descrição e valor é ignorado.
+     * 
+     * @param item Item gravado
+     * @param dto Dados recebidos; apenas quantidade e produto são considerados
+     * @throws IllegalStateException se o produto novo não estiver no catálogo
      */
-    private ItemPedidoDTO toItemDTO(ItemPedido item) {
-        BigDecimal subtotal = item.getSubtotal();
-        if (subtotal == null) {
-            BigDecimal preco = item.getPrecoUnitario() == null ? BigDecimal.ZERO : item.getPrecoUnitario();
-            Integer qtd = item.getQuantidade() == null ? 0 : item.getQuantidade();
-            subtotal = preco.multiply(BigDecimal.valueOf(qtd));
-        }
-
-        return new ItemPedidoDTO(
-                item.getId(),
-                item.getDescricao(),
-                item.getQuantidade(),
-                item.getPrecoUnitario(),
-                subtotal
-        );
+    private void precificarItemExistente(ItemPedido item, CriarItemPedidoDTO dto) {
+        if (trocaDeProduto(item, dto.getProdutoId())) {
+            ProdutoDTO produto = buscarNoCatalogo(dto.getProdutoId());
+            dto.setDescricao(produto.nome());
+            dto.setValorUnitario(produto.preco());
+            return;
+        }
+        dto.setProdutoId(item.getProdutoId());
+        dto.setDescricao(item.getDescricao());
+        dto.setValorUnitario(item.getPrecoUnitario());
+    }
+
+    private boolean trocaDeProduto(ItemPedido item, Long produtoId) {
+        return produtoId != null && !produtoId.equals(item.getProdutoId());
+    }
+
+    private ProdutoDTO buscarNoCatalogo(Long produtoId) {
+        ProdutoDTO produto = catalogoProdutos.buscar(produtoId);
+        if (produto == null) {
+            throw new IllegalStateException("Produto não encontrado no catálogo: " + produtoId);
+        }
+        return produto;
+    }
+
+    private boolean isAdministrador() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream().anyMatch(a -> Role.ADMIN.name().equals(a.getAuthority()));
     }
 
     /**
-     * Recalcula o valor total do pedido com base nos itens persistidos.
-     *
-     * <p>Este método consulta o banco novamente para evitar inconsistências
-     * com estados em memória.
-     *
-     * <p>Chamado automaticamente após:
-     * <ul>
-     *   <li>adição de item</li>
-     *   <li>remoção de item</li>
-     *   <li>atualização de item</li>
-     *   <li>edição completa do pedido</li>
-     * </ul>
-     *
-     * @param pedido pedido a recalcular
+     * Calcula o subtotal de um item (preço unitário x quantidade).
+     * Valores nulos são tratados como zero.
+     * 
+     * @param item Item a calcular
+     * @return subtotal do item
      */
+    private BigDecimal calcularSubtotal(ItemPedido item) {
+        BigDecimal preco = item.getPrecoUnitario() == null ? BigDecimal.ZERO : item.getPrecoUnitario();
+        Integer qtd = item.getQuantidade() == null ? 0 : item.getQuantidade();
+        return preco.multiply(BigDecimal.valueOf(qtd));
+    }
 
-    private void recalcularTotal(Pedido pedido) {
-        BigDecimal total = itemPedidoRepository
-                .findByPedidoId(pedido.getId())
-                .stream()
-                .map(item -> {
-                    BigDecimal preco = item.getPrecoUnitario() == null ? BigDecimal.ZERO : item.getPrecoUnitario();
-                    Integer qtd = item.getQuantidade() == null ? 0 : item.getQuantidade();
-                    return preco.multiply(BigDecimal.valueOf(qtd));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Verifica se os dados recebidos diferem dos atuais do item.
+     * Valores monetários são comparados sem considerar a escala.
+     * 
+     * @param item Item atual
+     * @param dto Dados recebidos
+     * @return true se algum campo mudou
+     */
+    private boolean foiAlterado(ItemPedido item, CriarItemPedidoDTO dto) {
+        return !Objects.equals(item.getProdutoId(), dto.getProdutoId())
+                || !Objects.equals(item.getDescricao(), dto.getDescricao())
+                || !Objects.equals(item.getQuantidade(), dto.getQuantidade())
+                || item.getPrecoUnitario() == null || dto.getValorUnitario() == null
+                || item.getPrecoUnitario().compareTo(dto.getValorUnitario()) != 0;
+    }
 
-        pedido.setValorTotal(total);
+    private int quantidadeDe(ItemPedido item) {
+        return item.getQuantidade() == null ? 0 : item.getQuantidade();
+    }
+
+    private ItemEvento toItemEvento(ItemPedido item) {
+        return new ItemEvento(item.getId(), item.getDescricao(), quantidadeDe(item), calcularSubtotal(item));
+    }
+
+    /**
+     * Publica um {@link ItemAlterado} com o estado atual do pedido, para um
+     * item que manteve a descrição.
+     * Para adição use quantidade anterior 0; para remoção, quantidade nova 0.
+     */
+    private void publicarItemAlterado(Pedido pedido, UUID itemId, String descricao,
+                                      int quantidadeAnterior, int quantidadeNova,
+                                      BigDecimal subtotalAnterior, BigDecimal subtotalNovo) {
+        publicarItemAlterado(pedido, itemId, descricao, descricao,
+                quantidadeAnterior, quantidadeNova, subtotalAnterior, subtotalNovo);
+    }
+
+    /**
+     * Publica um {@link ItemAlterado} com o estado atual do pedido; a
+     * descrição anterior difere da nova quando o item troca de produto.
+     */
+    private void publicarItemAlterado(Pedido pedido, UUID itemId, String descricaoAnterior, String descricao,
+                                      int quantidadeAnterior, int quantidadeNova,
+                                      BigDecimal subtotalAnterior, BigDecimal subtotalNovo) {
+        eventPublisher.publishEvent(new ItemAlterado(
+                pedido.getId(), pedido.getDataPedido(), pedido.getStatusPedido(), pedido.getPago(),
+                itemId, descricaoAnterior, descricao, quantidadeAnterior, quantidadeNova,
+                subtotalAnterior, subtotalNovo));
+    }
+
+    /**
+     * Aplica no total do pedido apenas a diferença causada por um item,
+     * sem reler os demais itens.
+     *
+     * <p>Para adição use {@code anterior = 0}; para remoção, {@code novo = 0}.
+     * O pedido é sempre marcado como alterado, mesmo com diferença zero.
+     * A concorrência é protegida pelo {@code @Version} de {@link Pedido}:
+     * duas edições simultâneas do mesmo pedido não sobrescrevem o total
+     * uma da outra, a segunda falha com conflito de versão.
+     *
+     * @param pedido pedido a atualizar
+     * @param anterior subtotal do item antes da alteração
+     * @param novo subtotal do item depois da alteração
+     */
+    private void aplicarDiferencaNoTotal(Pedido pedido, BigDecimal anterior, BigDecimal novo) {
+        BigDecimal total = pedido.getValorTotal() == null ? BigDecimal.ZERO : pedido.getValorTotal();
+        pedido.setValorTotal(total.subtract(anterior).add(novo));
+        pedido.registrarAlteracao();
         pedidoRepository.save(pedido);
     }
 }
@@ -0,0 +1,208 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.domain.pedidos.eventos.EventoPedido;
+import com.salgados.RSalgados.domain.pedidos.eventos.ItemAlterado;
+import com.salgados.RSalgados.domain.pedidos.eventos.ItemEvento;
+import com.salgados.RSalgados.domain.pedidos.eventos.PedidoCriado;
+import com.salgados.RSalgados.domain.pedidos.eventos.PedidoPago;
+import com.salgados.RSalgados.domain.pedidos.eventos.StatusAlterado;
+import com.salgados.RSalgados.dto.pedidos.ItemPreparoDTO;
+import com.salgados.RSalgados.dto.pedidos.PreparoProducaoDTO;
+import com.salgados.RSalgados.dto.pedidos.QuantidadePreparoDTO;
+import com.salgados.RSalgados.repository.ItemPedidoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plano de preparo da cozinha: quantas unidades de cada item existem em
+ * pedidos {@code CRIADO} e {@code EM_PRODUCAO}.
+ *
+ * <p>Os totais ficam em contadores em memória ({@link LongAdder} por
+ * status e descrição), atualizados pelos eventos de pedido confirmados.
+ * A consulta só lê os contadores: não depende de quantos pedidos estão
+ * abertos. Criação de pedido e alteração de itens trazem as quantidades
+ * no próprio evento; uma mudança de status consulta os itens daquele
+ * pedido, agrupados por descrição.
+ *
+ * <p>A cada {@code rsalgados.producao.preparo.reconciliacao-ms} os
+ * contadores são comparados com um {@code GROUP BY} no banco e corrigidos
+ * onde divergirem (alterações feitas fora do {@code PedidoServiceImpl},
+ * eventos perdidos numa queda). Eventos confirmados durante a própria
+ * reconciliação podem deixar um desvio que a próxima corrige.
+ */
+@Service
+public class PreparoProducaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PreparoProducaoService.class);
+
+    /** Status cujos itens ainda precisam ser produzidos. */
+    public static final Set<StatusPedido> STATUS_PREPARO = Set.of(StatusPedido.CRIADO, StatusPedido.EM_PRODUCAO);
+
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final Counter divergencias;
+
+    private final Map<ChavePreparo, LongAdder> unidades = new ConcurrentHashMap<>();
+
+    private volatile Instant ultimaReconciliacao;
+
+    public PreparoProducaoService(ItemPedidoRepository itemPedidoRepository, MeterRegistry registry) {
+        this.itemPedidoRepository = itemPedidoRepository;
+        this.divergencias = Counter.builder("producao.preparo.divergencias")
+                .description("Contadores do plano de preparo corrigidos pela reconciliação")
+                .register(registry);
+        registry.gauge("producao.preparo.itens", unidades, Map::size);
+    }
+
+    /**
+     * Monta o plano de preparo a partir dos contadores, sem consultar o banco.
+     *
+     * @return itens com unidades a produzir, do maior total para o menor
+     */
+    public PreparoProducaoDTO consultar() {
+        Map<String, long[]> porDescricao = new TreeMap<>();
+        unidades.forEach((chave, contador) -> {
+            long quantidade = contador.sum();
+            if (quantidade > 0) {
+                long[] colunas = porDescricao.computeIfAbsent(chave.descricao(), d -> new long[2]);
+                colunas[chave.status() == StatusPedido.CRIADO ? 0 : 1] += quantidade;
+            }
+        });
+
+        List<ItemPreparoDTO> itens = new ArrayList<>(porDescricao.size());
+        porDescricao.forEach((descricao, colunas) ->
+                itens.add(new ItemPreparoDTO(descricao, colunas[0], colunas[1], colunas[0] + colunas[1])));
+        itens.sort(Comparator.comparingLong(ItemPreparoDTO::total).reversed());
+        return new PreparoProducaoDTO(itens, ultimaReconciliacao);
+    }
+
+    // ===========================
+    // EVENTOS
+    // ===========================
+
+    /**
+     * Aplica nos contadores a diferença causada por um evento já confirmado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void registrar(EventoPedido evento) {
+        switch (evento) {
+            case PedidoCriado e -> {
+                for (ItemEvento item : e.itens()) {
+                    somar(StatusPedido.CRIADO, item.descricao(), item.quantidade());
+                }
+            }
+            case ItemAlterado e -> {
+                if (Objects.equals(e.descricaoAnterior(), e.descricao())) {
+                    somar(e.statusPedido(), e.descricao(), e.quantidadeNova() - e.quantidadeAnterior());
+                } else {
+                    // Troca de produto: as unidades saem do nome antigo e entram no novo
+                    somar(e.statusPedido(), e.descricaoAnterior(), -e.quantidadeAnterior());
+                    somar(e.statusPedido(), e.descricao(), e.quantidadeNova());
+                }
+            }
+            case StatusAlterado e -> moverPedido(e);
+            case PedidoPago e -> {
+                // Pagamento não muda o que a cozinha tem a produzir
+            }
+        }
+    }
+
+    private void moverPedido(StatusAlterado evento) {
+        boolean saiDoPreparo = STATUS_PREPARO.contains(evento.statusAnterior());
+        boolean entraNoPreparo = STATUS_PREPARO.contains(evento.statusNovo());
+        if (!saiDoPreparo && !entraNoPreparo) {
+            return;
+        }
+        // Edições de itens concorrentes com a transição esbarram no @Version
+        // do pedido; os itens lidos aqui são os que estavam contados.
+        for (QuantidadePreparoDTO item : itemPedidoRepository.somarQuantidadesDoPedido(evento.pedidoId())) {
+            if (saiDoPreparo) {
+                somar(evento.statusAnterior(), item.descricao(), -item.quantidade());
+            }
+            if (entraNoPreparo) {
+                somar(evento.statusNovo(), item.descricao(), item.quantidade());
+            }
+        }
+    }
+
+    private void somar(StatusPedido status, String descricao, long quantidade) {
+        if (quantidade == 0 || descricao == null || !STATUS_PREPARO.contains(status)) {
+            return;
+        }
+        unidades.computeIfAbsent(new ChavePreparo(status, descricao), c -> new LongAdder()).add(quantidade);
+    }
+
+    // ===========================
+    // RECONCILIAÇÃO
+    // ===========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        reconciliar();
+    }
+
+    /**
+     * Compara os contadores com a soma no banco ({@code GROUP BY} status e
+     * descrição, só dos pedidos em preparo) e corrige os que divergirem.
+     *
+     * @return quantidade de contadores corrigidos
+     */
+    @Scheduled(initialDelayString = "${rsalgados.producao.preparo.reconciliacao-ms:60000}",
+            fixedDelayString = "${rsalgados.producao.preparo.reconciliacao-ms:60000}")
+    public synchronized int reconciliar() {
+        Map<ChavePreparo, Long> banco = new HashMap<>();
+        for (QuantidadePreparoDTO linha : itemPedidoRepository.somarQuantidadesPorStatus(STATUS_PREPARO)) {
+            banco.put(new ChavePreparo(linha.statusPedido(), linha.descricao()), linha.quantidade());
+        }
+
+        int corrigidos = 0;
+        for (Map.Entry<ChavePreparo, Long> linha : banco.entrySet()) {
+            LongAdder contador = unidades.computeIfAbsent(linha.getKey(), c -> new LongAdder());
+            long diferenca = linha.getValue() - contador.sum();
+            if (diferenca != 0) {
+                contador.add(diferenca);
+                corrigidos++;
+            }
+        }
+        for (Map.Entry<ChavePreparo, LongAdder> contador : unidades.entrySet()) {
+            if (!banco.containsKey(contador.getKey())) {
+                long restante = contador.getValue().sum();
+                if (restante != 0) {
+                    contador.getValue().add(-restante);
+                    corrigidos++;
+                }
+            }
+        }
+        // Itens que saíram de produção não precisam ocupar o mapa
+        unidades.entrySet().removeIf(contador -> contador.getValue().sum() == 0);
+
+        if (corrigidos > 0) {
+            divergencias.increment(corrigidos);
+            log.info("Plano de preparo reconciliado: {} contadores corrigidos", corrigidos);
+        }
+        ultimaReconciliacao = Instant.now();
+        return corrigidos;
+    }
+
+    private record ChavePreparo(StatusPedido status, String descricao) {}
+}
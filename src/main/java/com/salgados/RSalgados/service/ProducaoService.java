@@ -0,0 +1,108 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.config.RoteamentoLeituraDataSource;
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.dto.pedidos.MudancasProducaoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoProducaoDTO;
+import com.salgados.RSalgados.dto.pedidos.VersaoQuadroDTO;
+import com.salgados.RSalgados.repository.PedidoRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serviço do quadro de produção da cozinha (uso administrativo).
+ * 
+ * <p>Oferece duas formas de acompanhar os pedidos de todos os clientes:
+ * <ul>
+ *   <li>Quadro completo por status, com uma versão barata (contagem + última
+ *       alteração) para o controller responder {@code 304} quando nada mudou</li>
+ *   <li>Feed de mudanças por cursor sobre ({@code atualizadoEm}, {@code id}),
+ *       para telas que só querem os deltas desde a última consulta</li>
+ * </ul>
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProducaoService {
+
+    /** Status exibidos no quadro quando nenhum é informado. */
+    public static final List<StatusPedido> STATUS_PADRAO = List.of(StatusPedido.EM_PRODUCAO, StatusPedido.PRONTO);
+
+    private static final int LIMITE_MAXIMO_MUDANCAS = 500;
+
+    /** Atraso do feed em relação ao relógio, para não pular transações ainda em andamento. */
+    private static final Duration MARGEM_CONSISTENCIA = Duration.ofSeconds(2);
+
+    /** Cursor inicial do feed: antes de qualquer pedido. */
+    private static final CursorPedido CURSOR_INICIAL = new CursorPedido(Instant.EPOCH, new UUID(0L, 0L));
+
+    private final PedidoRepository pedidoRepository;
+
+    public ProducaoService(PedidoRepository pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    /**
+     * @param status status a exibir
+     * @return pedidos nos status informados, do mais antigo para o mais novo
+     */
+    public List<PedidoProducaoDTO> listarQuadro(Collection<StatusPedido> status) {
+        return pedidoRepository.listarPorStatus(status);
+    }
+
+    /**
+     * Gera o ETag do quadro a partir de uma única consulta agregada,
+     * sem carregar os pedidos.
+     * 
+     * @param status status exibidos
+     * @return ETag forte (entre aspas) que muda sempre que o quadro muda
+     */
+    public String calcularEtagQuadro(Collection<StatusPedido> status) {
+        VersaoQuadroDTO versao = pedidoRepository.resumirPorStatus(status);
+        Instant ultima = versao.ultimaAlteracao() != null ? versao.ultimaAlteracao() : Instant.EPOCH;
+        return "\"" + status.stream().map(Enum::name).sorted().toList().hashCode()
+                + "-" + versao.totalPedidos()
+                + "-" + ultima.getEpochSecond() + "." + ultima.getNano() + "\"";
+    }
+
+    /**
+     * Lista os pedidos alterados depois do cursor, em qualquer status
+     * (inclusive os que saíram do quadro, para a tela removê-los).
+     * 
+     * @param cursor cursor devolvido na consulta anterior, ou null para começar do início
+     * @param limite máximo de pedidos na resposta
+     * @return mudanças e o cursor para a próxima consulta
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public MudancasProducaoDTO listarMudancas(String cursor, int limite) {
+        CursorPedido posicao = cursor == null || cursor.isBlank() ? CURSOR_INICIAL : CursorPedido.decodificar(cursor);
+        int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO_MUDANCAS);
+
+        // Mudanças muito recentes ficam para a próxima consulta: uma transação
+        // ainda não confirmada pode ter gravado um atualizadoEm anterior a elas.
+        // A consulta vai ao primário: na réplica, um atraso maior que a margem
+        // faria o cursor passar por pedidos que ela ainda não tinha.
+        Instant ate = Instant.now().minus(MARGEM_CONSISTENCIA);
+        List<PedidoProducaoDTO> pedidos = RoteamentoLeituraDataSource.lerDoPrimario(() ->
+                pedidoRepository.listarAlteradosApos(posicao.instante(), posicao.id(), ate, Limit.of(tamanho + 1)));
+
+        boolean maisMudancas = pedidos.size() > tamanho;
+        if (maisMudancas) {
+            pedidos = pedidos.subList(0, tamanho);
+        }
+
+        CursorPedido proximo = posicao;
+        if (!pedidos.isEmpty()) {
+            PedidoProducaoDTO ultimo = pedidos.get(pedidos.size() - 1);
+            proximo = new CursorPedido(ultimo.atualizadoEm(), ultimo.id());
+        }
+
+        return new MudancasProducaoDTO(pedidos, proximo.codificar(), maisMudancas);
+    }
+}
@@ -1,14 +1,18 @@
 package com.salgados.RSalgados.service;
 
+import com.salgados.RSalgados.config.RoteamentoLeituraDataSource;
 import com.salgados.RSalgados.domain.usuarios.Usuario;
+import com.salgados.RSalgados.dto.usuarios.UsuarioAutenticado;
 import com.salgados.RSalgados.repository.UsuarioRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -16,21 +20,43 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         this.usuarioRepository = usuarioRepository;
     }
 
+    /**
+     * Lê do primário: o login logo após o cadastro não pode depender da réplica.
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        System.out.println("Tentando login com e-mail: " + email);
-
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        Usuario usuario = RoteamentoLeituraDataSource.lerDoPrimario(() -> usuarioRepository.findComClienteByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
 
-        System.out.println("Usuário encontrado! Senha criptografada no banco: " + usuario.getSenha());
+        return new UsuarioAutenticado(
+                usuario.getId(),
+                usuario.getCliente() != null ? usuario.getCliente().getId() : null,
+                usuario.getRole(),
+                usuario.getEmail(),
+                usuario.getSenha(),
+                Boolean.TRUE.equals(usuario.getAtivo())
+        );
+    }
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(usuario.getEmail())
-                .password(usuario.getSenha())
-                .authorities(usuario.getRole().name())
-                .disabled(!usuario.getAtivo())
-                .build();
+    /**
+     * Regrava o hash da senha depois de um login bem-sucedido, quando o
+     * codificador indica que o hash atual está desatualizado (sem prefixo
+     * de algoritmo ou com força do BCrypt menor que a configurada).
+     *
+     * @param user usuário autenticado
+     * @param novaSenha novo hash, já codificado
+     * @return usuário com o novo hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String novaSenha) {
+        usuarioRepository.findByEmail(user.getUsername())
+                .ifPresent(usuario -> usuario.setSenha(novaSenha));
+
+        if (user instanceof UsuarioAutenticado autenticado) {
+            return new UsuarioAutenticado(autenticado.getUsuarioId(), autenticado.getClienteId(),
+                    autenticado.getRole(), autenticado.getUsername(), novaSenha, autenticado.isEnabled());
+        }
+        return loadUserByUsername(user.getUsername());
     }
 }
-
@@ -0,0 +1,21 @@
+package com.salgados.RSalgados.service.eventos;
+
+import com.salgados.RSalgados.domain.eventos.EventoOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra no log de auditoria cada evento de pedido entregue pela outbox.
+ */
+@Component
+public class AuditoriaPedidoOuvinte implements OuvinteEventoOutbox {
+
+    private static final Logger AUDITORIA = LoggerFactory.getLogger("auditoria.pedidos");
+
+    @Override
+    public void receber(EventoOutbox evento) {
+        AUDITORIA.info("evento={} id={} pedido={} criadoEm={} payload={}",
+                evento.getTipo(), evento.getId(), evento.getPedidoId(), evento.getCriadoEm(), evento.getPayload());
+    }
+}
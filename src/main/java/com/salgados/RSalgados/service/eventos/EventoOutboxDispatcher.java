@@ -0,0 +1,170 @@
+package com.salgados.RSalgados.service.eventos;
+
+import com.salgados.RSalgados.domain.eventos.EventoOutbox;
+import com.salgados.RSalgados.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega em segundo plano os eventos pendentes da outbox aos {@link OuvinteEventoOutbox}.
+ * 
+ * <p>A cada ciclo ({@code rsalgados.outbox.intervalo-ms}) lê lotes de até
+ * {@code rsalgados.outbox.tamanho-lote} eventos, cada lote na sua transação,
+ * e para depois de {@code rsalgados.outbox.lotes-por-ciclo} lotes. O ritmo
+ * de entrega é ditado pelos consumidores, nunca pela requisição: se eles
+ * ficam lentos ou falham, o dispatcher interrompe o ciclo e a fila cresce
+ * na tabela (visível na métrica {@code pedidos.outbox.pendentes}), sem
+ * acrescentar latência ao fluxo de pedidos.
+ * 
+ * <p>Um evento que falha é tentado de novo no próximo ciclo; após
+ * {@code rsalgados.outbox.max-tentativas} ele é marcado como processado
+ * com o erro registrado, para não travar a fila.
+ * 
+ * <p>Eventos processados há mais de {@code rsalgados.outbox.retencao}
+ * (padrão 7 dias) são apagados a cada {@code rsalgados.outbox.limpeza-ms},
+ * em lotes de {@code rsalgados.outbox.lote-limpeza}, cada um na sua
+ * transação. {@link #reenfileirar} só alcança eventos dentro da retenção.
+ * A métrica de pendentes é atualizada a cada
+ * {@code rsalgados.outbox.metricas-ms}, não a cada coleta.
+ */
+@Component
+public class EventoOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EventoOutboxDispatcher.class);
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final List<OuvinteEventoOutbox> ouvintes;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter entregues;
+    private final Counter falhas;
+    private final int tamanhoLote;
+    private final int lotesPorCiclo;
+    private final int maxTentativas;
+    private final Duration retencao;
+    private final int loteLimpeza;
+    private final AtomicLong pendentes = new AtomicLong();
+
+    public EventoOutboxDispatcher(EventoOutboxRepository eventoOutboxRepository,
+                                  List<OuvinteEventoOutbox> ouvintes,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry registry,
+                                  @Value("${rsalgados.outbox.tamanho-lote:100}") int tamanhoLote,
+                                  @Value("${rsalgados.outbox.lotes-por-ciclo:10}") int lotesPorCiclo,
+                                  @Value("${rsalgados.outbox.max-tentativas:5}") int maxTentativas,
+                                  @Value("${rsalgados.outbox.retencao:P7D}") Duration retencao,
+                                  @Value("${rsalgados.outbox.lote-limpeza:1000}") int loteLimpeza) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.ouvintes = ouvintes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.lotesPorCiclo = lotesPorCiclo;
+        this.maxTentativas = maxTentativas;
+        this.retencao = retencao;
+        this.loteLimpeza = loteLimpeza;
+        this.entregues = registry.counter("pedidos.outbox.entregues");
+        this.falhas = registry.counter("pedidos.outbox.falhas");
+        registry.gauge("pedidos.outbox.pendentes", pendentes);
+    }
+
+    @Scheduled(fixedDelayString = "${rsalgados.outbox.intervalo-ms:1000}")
+    public void despachar() {
+        for (int i = 0; i < lotesPorCiclo; i++) {
+            Boolean continuar = transactionTemplate.execute(status -> despacharLote());
+            if (!Boolean.TRUE.equals(continuar)) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rsalgados.outbox.metricas-ms:15000}")
+    public void atualizarPendentes() {
+        pendentes.set(eventoOutboxRepository.countByProcessadoEmIsNull());
+    }
+
+    /**
+     * Apaga os eventos processados antes da janela de retenção, em lotes.
+     * 
+     * @return quantidade de eventos apagados
+     */
+    @Scheduled(fixedDelayString = "${rsalgados.outbox.limpeza-ms:3600000}")
+    public int limparProcessados() {
+        Instant limite = Instant.now().minus(retencao);
+        int total = 0;
+        int apagados;
+        do {
+            apagados = transactionTemplate.execute(status -> {
+                List<Long> ids = eventoOutboxRepository.buscarProcessadosAntesDe(limite, Limit.of(loteLimpeza));
+                eventoOutboxRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            total += apagados;
+        } while (apagados == loteLimpeza);
+
+        if (total > 0) {
+            log.info("Outbox: {} eventos processados antes de {} apagados", total, limite);
+        }
+        return total;
+    }
+
+    /**
+     * Marca como pendentes os eventos gravados no intervalo, para que sejam
+     * entregues de novo no próximo ciclo.
+     * 
+     * @param desde início do intervalo (inclusive)
+     * @param ate fim do intervalo (exclusive)
+     * @return quantidade de eventos reenfileirados
+     */
+    @Transactional
+    public int reenfileirar(Instant desde, Instant ate) {
+        return eventoOutboxRepository.reenfileirar(desde, ate);
+    }
+
+    /**
+     * @return true se o lote veio cheio e sem falhas, ou seja, vale buscar outro
+     */
+    private boolean despacharLote() {
+        List<EventoOutbox> lote = eventoOutboxRepository.buscarPendentes(Limit.of(tamanhoLote));
+
+        for (EventoOutbox evento : lote) {
+            try {
+                for (OuvinteEventoOutbox ouvinte : ouvintes) {
+                    ouvinte.receber(evento);
+                }
+                evento.setProcessadoEm(Instant.now());
+                entregues.increment();
+            } catch (RuntimeException e) {
+                falhas.increment();
+                evento.setTentativas(evento.getTentativas() + 1);
+                evento.setErro(resumir(e));
+                if (evento.getTentativas() >= maxTentativas) {
+                    log.error("Evento {} descartado após {} tentativas", evento.getId(), evento.getTentativas(), e);
+                    evento.setProcessadoEm(Instant.now());
+                } else {
+                    log.warn("Falha ao entregar evento {} (tentativa {})", evento.getId(), evento.getTentativas(), e);
+                    return false;
+                }
+            }
+        }
+
+        return lote.size() == tamanhoLote;
+    }
+
+    private String resumir(RuntimeException e) {
+        String mensagem = e.toString();
+        return mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem;
+    }
+}
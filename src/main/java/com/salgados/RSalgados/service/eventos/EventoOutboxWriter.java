@@ -0,0 +1,42 @@
+package com.salgados.RSalgados.service.eventos;
+
+import com.salgados.RSalgados.domain.eventos.EventoOutbox;
+import com.salgados.RSalgados.domain.pedidos.eventos.EventoPedido;
+import com.salgados.RSalgados.repository.EventoOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+
+/**
+ * Grava os eventos de pedido na outbox, na mesma transação que os publicou.
+ * 
+ * <p>Roda na fase {@code BEFORE_COMMIT}: se a transação for desfeita, o
+ * evento também não é gravado; se ela for confirmada, o evento está salvo.
+ * 
+ * <p>O payload é o evento em JSON, inteiro: um evento que não possa ser
+ * serializado desfaz a transação em vez de ir incompleto para a outbox.
+ */
+@Component
+public class EventoOutboxWriter {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final JsonMapper jsonMapper;
+
+    public EventoOutboxWriter(EventoOutboxRepository eventoOutboxRepository, JsonMapper jsonMapper) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void gravar(EventoPedido evento) {
+        EventoOutbox linha = new EventoOutbox();
+        linha.setTipo(evento.getClass().getSimpleName());
+        linha.setPedidoId(evento.pedidoId());
+        linha.setPayload(jsonMapper.writeValueAsString(evento));
+        linha.setCriadoEm(Instant.now());
+        eventoOutboxRepository.save(linha);
+    }
+}
@@ -0,0 +1,15 @@
+package com.salgados.RSalgados.service.eventos;
+
+import com.salgados.RSalgados.domain.eventos.EventoOutbox;
+
+/**
+ * Consumidor dos eventos entregues pela outbox (auditoria, notificações...).
+ * 
+ * <p>Roda na thread do dispatcher, nunca na thread da requisição. A entrega
+ * é "pelo menos uma vez": em caso de falha ou replay o mesmo evento pode
+ * chegar de novo, então implementações devem ser idempotentes.
+ */
+public interface OuvinteEventoOutbox {
+
+    void receber(EventoOutbox evento);
+}
@@ -0,0 +1,116 @@
+package com.salgados.RSalgados.service.produtos;
+
+import com.salgados.RSalgados.config.RoteamentoLeituraDataSource;
+import com.salgados.RSalgados.domain.produtos.CatalogoAlterado;
+import com.salgados.RSalgados.domain.produtos.Produto;
+import com.salgados.RSalgados.dto.produtos.ProdutoDTO;
+import com.salgados.RSalgados.repository.ProdutoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Catálogo de produtos ativos em memória, usado para precificar os itens
+ * dos pedidos sem consultar o banco.
+ *
+ * <p>O catálogo é um snapshot imutável: IDs ordenados em um {@code long[]}
+ * (busca binária, sem boxing) e os produtos na mesma posição. Cada
+ * alteração monta um snapshot novo a partir do banco e o publica com uma
+ * única escrita volátil; quem está lendo continua no snapshot anterior,
+ * sem locks.
+ *
+ * <p>O snapshot é recarregado depois do commit de cada alteração feita
+ * nesta instância ({@link CatalogoAlterado}) e periodicamente
+ * ({@code rsalgados.catalogo.recarga-ms}), para alcançar as alterações
+ * feitas por outras instâncias.
+ */
+@Component
+public class CatalogoProdutos {
+
+    private static final Snapshot VAZIO = new Snapshot(new long[0], new ProdutoDTO[0]);
+
+    private final ProdutoRepository produtoRepository;
+
+    private volatile Snapshot snapshot = VAZIO;
+
+    public CatalogoProdutos(ProdutoRepository produtoRepository, MeterRegistry meterRegistry) {
+        this.produtoRepository = produtoRepository;
+        Gauge.builder("catalogo.produtos", this, c -> c.snapshot.ids.length)
+                .description("Produtos ativos no snapshot do catálogo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Busca um produto ativo no snapshot atual.
+     *
+     * @param produtoId ID do produto
+     * @return produto, ou null se não existir ou estiver inativo
+     */
+    public ProdutoDTO buscar(long produtoId) {
+        Snapshot atual = snapshot;
+        int posicao = Arrays.binarySearch(atual.ids, produtoId);
+        return posicao >= 0 ? atual.produtos[posicao] : null;
+    }
+
+    /**
+     * @return produtos ativos do snapshot atual, por nome (para os formulários)
+     */
+    public List<ProdutoDTO> listar() {
+        return Arrays.stream(snapshot.produtos)
+                .sorted(Comparator.comparing(ProdutoDTO::nome))
+                .toList();
+    }
+
+    /**
+     * @return quantidade de produtos ativos no snapshot atual
+     */
+    public int tamanho() {
+        return snapshot.ids.length;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        recarregar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarCatalogo(CatalogoAlterado evento) {
+        recarregar();
+    }
+
+    /**
+     * Monta um snapshot novo com os produtos ativos e o publica.
+     *
+     * <p>Sincronizado para que uma recarga mais antiga não substitua uma
+     * mais nova: a leitura do banco e a publicação acontecem juntas. A
+     * leitura vai ao primário: logo após o commit, a réplica pode ainda não
+     * ter a alteração.
+     */
+    @Scheduled(initialDelayString = "${rsalgados.catalogo.recarga-ms:60000}",
+            fixedDelayString = "${rsalgados.catalogo.recarga-ms:60000}")
+    public synchronized void recarregar() {
+        List<Produto> ativos = RoteamentoLeituraDataSource.lerDoPrimario(produtoRepository::findByAtivoTrueOrderById);
+        long[] ids = new long[ativos.size()];
+        ProdutoDTO[] produtos = new ProdutoDTO[ativos.size()];
+        for (int i = 0; i < ativos.size(); i++) {
+            Produto produto = ativos.get(i);
+            ids[i] = produto.getId();
+            produtos[i] = new ProdutoDTO(produto.getId(), produto.getNome(), produto.getPreco(), true);
+        }
+        snapshot = new Snapshot(ids, produtos);
+    }
+
+    /**
+     * Arrays nunca alterados depois de publicados.
+     */
+    private record Snapshot(long[] ids, ProdutoDTO[] produtos) {}
+}
@@ -0,0 +1,109 @@
+package com.salgados.RSalgados.service.produtos;
+
+import com.salgados.RSalgados.domain.produtos.CatalogoAlterado;
+import com.salgados.RSalgados.domain.produtos.Produto;
+import com.salgados.RSalgados.dto.produtos.ProdutoDTO;
+import com.salgados.RSalgados.dto.produtos.SalvarProdutoDTO;
+import com.salgados.RSalgados.repository.ProdutoRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Manutenção do catálogo de produtos (uso administrativo).
+ *
+ * <p>Toda alteração publica {@link CatalogoAlterado}; o snapshot do
+ * {@link CatalogoProdutos} é recarregado depois do commit, então os
+ * pedidos passam a usar o preço novo assim que a alteração é confirmada.
+ * Produtos não são apagados, só desativados: itens de pedidos antigos
+ * continuam apontando para eles.
+ */
+@Service
+@Transactional
+public class ProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProdutoService(ProdutoRepository produtoRepository, ApplicationEventPublisher eventPublisher) {
+        this.produtoRepository = produtoRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return todos os produtos, ativos e inativos, por nome
+     */
+    @Transactional(readOnly = true)
+    public List<ProdutoDTO> listar() {
+        return produtoRepository.findAllByOrderByNome().stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * @param dto nome e preço do produto (ativo por padrão)
+     * @return produto criado
+     * @throws IllegalArgumentException se nome ou preço forem inválidos
+     */
+    public ProdutoDTO criar(SalvarProdutoDTO dto) {
+        validar(dto);
+        Produto produto = new Produto();
+        produto.setNome(dto.getNome().trim());
+        produto.setPreco(dto.getPreco());
+        produto.setAtivo(dto.getAtivo() == null || dto.getAtivo());
+        produto = produtoRepository.save(produto);
+
+        eventPublisher.publishEvent(new CatalogoAlterado(produto.getId()));
+        return toDTO(produto);
+    }
+
+    /**
+     * @param id ID do produto
+     * @param dto novos nome e preço; {@code ativo} nulo mantém o atual
+     * @return produto atualizado
+     * @throws IllegalArgumentException se nome ou preço forem inválidos
+     * @throws RuntimeException se produto não encontrado
+     */
+    public ProdutoDTO atualizar(Long id, SalvarProdutoDTO dto) {
+        validar(dto);
+        Produto produto = buscar(id);
+        produto.setNome(dto.getNome().trim());
+        produto.setPreco(dto.getPreco());
+        if (dto.getAtivo() != null) {
+            produto.setAtivo(dto.getAtivo());
+        }
+
+        eventPublisher.publishEvent(new CatalogoAlterado(produto.getId()));
+        return toDTO(produto);
+    }
+
+    /**
+     * Tira o produto do catálogo; novos itens não podem mais usá-lo.
+     *
+     * @param id ID do produto
+     * @throws RuntimeException se produto não encontrado
+     */
+    public void desativar(Long id) {
+        Produto produto = buscar(id);
+        produto.setAtivo(false);
+        eventPublisher.publishEvent(new CatalogoAlterado(produto.getId()));
+    }
+
+    private Produto buscar(Long id) {
+        return produtoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
+    }
+
+    private void validar(SalvarProdutoDTO dto) {
+        if (dto.getNome() == null || dto.getNome().isBlank()) {
+            throw new IllegalArgumentException("Nome do produto é obrigatório");
+        }
+        if (dto.getPreco() == null || dto.getPreco().signum() < 0) {
+            throw new IllegalArgumentException("Preço deve ser maior ou igual a zero");
+        }
+    }
+
+    private ProdutoDTO toDTO(Produto produto) {
+        return new ProdutoDTO(produto.getId(), produto.getNome(), produto.getPreco(), produto.getAtivo());
+    }
+}
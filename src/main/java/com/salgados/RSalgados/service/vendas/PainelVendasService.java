@@ -0,0 +1,111 @@
+package com.salgados.RSalgados.service.vendas;
+
+import com.salgados.RSalgados.domain.vendas.ResumoVendasDiario;
+import com.salgados.RSalgados.dto.vendas.PainelVendasDTO;
+import com.salgados.RSalgados.dto.vendas.VendasDiaDTO;
+import com.salgados.RSalgados.dto.vendas.VendasStatusDTO;
+import com.salgados.RSalgados.repository.ResumoItemDiarioRepository;
+import com.salgados.RSalgados.repository.ResumoVendasDiarioRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Painel de vendas para a administração.
+ * 
+ * <p>Lê apenas os resumos diários mantidos pelo {@link ResumoVendasAtualizador}:
+ * o custo depende do tamanho do período consultado, não do histórico de
+ * pedidos. Os números podem estar atrasados em até um ciclo de gravação
+ * ({@code rsalgados.vendas.intervalo-ms}).
+ */
+@Service
+@Transactional(readOnly = true)
+public class PainelVendasService {
+
+    /** Período máximo de uma consulta, em dias. */
+    public static final int LIMITE_MAXIMO_DIAS = 366;
+
+    private static final int LIMITE_MAXIMO_ITENS = 100;
+
+    private final ResumoVendasDiarioRepository resumoVendasRepository;
+    private final ResumoItemDiarioRepository resumoItemRepository;
+
+    public PainelVendasService(ResumoVendasDiarioRepository resumoVendasRepository,
+                               ResumoItemDiarioRepository resumoItemRepository) {
+        this.resumoVendasRepository = resumoVendasRepository;
+        this.resumoItemRepository = resumoItemRepository;
+    }
+
+    /**
+     * Monta o painel do período: totais por dia, por status/pagamento e os
+     * itens mais vendidos.
+     * 
+     * @param desde primeiro dia (inclusive)
+     * @param ate último dia (inclusive)
+     * @param limiteItens quantidade de itens no ranking (1 a 100)
+     * @return painel de vendas do período
+     * @throws IllegalArgumentException se o período for inválido ou maior que {@value #LIMITE_MAXIMO_DIAS} dias
+     */
+    public PainelVendasDTO consultar(LocalDate desde, LocalDate ate, int limiteItens) {
+        if (desde.isAfter(ate)) {
+            throw new IllegalArgumentException("Período inválido: " + desde + " depois de " + ate);
+        }
+        if (ChronoUnit.DAYS.between(desde, ate) >= LIMITE_MAXIMO_DIAS) {
+            throw new IllegalArgumentException("Período maior que " + LIMITE_MAXIMO_DIAS + " dias");
+        }
+
+        List<ResumoVendasDiario> linhas = resumoVendasRepository.findByDiaBetweenOrderByDia(desde, ate);
+
+        return new PainelVendasDTO(
+                desde,
+                ate,
+                totalizarPorDia(linhas),
+                totalizarPorStatus(linhas),
+                resumoItemRepository.listarMaisVendidos(desde, ate, Limit.of(Math.clamp(limiteItens, 1, LIMITE_MAXIMO_ITENS)))
+        );
+    }
+
+    private List<VendasDiaDTO> totalizarPorDia(List<ResumoVendasDiario> linhas) {
+        Map<LocalDate, VendasDiaDTO> porDia = new TreeMap<>();
+        for (ResumoVendasDiario linha : linhas) {
+            boolean pago = Boolean.TRUE.equals(linha.getPago());
+            VendasDiaDTO parcial = new VendasDiaDTO(
+                    linha.getDia(),
+                    linha.getQuantidadePedidos(),
+                    linha.getValorTotal(),
+                    pago ? linha.getQuantidadePedidos() : 0,
+                    pago ? linha.getValorTotal() : BigDecimal.ZERO);
+            porDia.merge(linha.getDia(), parcial, (a, b) -> new VendasDiaDTO(
+                    a.dia(),
+                    a.pedidos() + b.pedidos(),
+                    a.valorTotal().add(b.valorTotal()),
+                    a.pedidosPagos() + b.pedidosPagos(),
+                    a.valorPago().add(b.valorPago())));
+        }
+        return new ArrayList<>(porDia.values());
+    }
+
+    private List<VendasStatusDTO> totalizarPorStatus(List<ResumoVendasDiario> linhas) {
+        Map<String, VendasStatusDTO> porStatus = new LinkedHashMap<>();
+        for (ResumoVendasDiario linha : linhas) {
+            VendasStatusDTO parcial = new VendasStatusDTO(
+                    linha.getStatusPedido(), linha.getPago(), linha.getQuantidadePedidos(), linha.getValorTotal());
+            porStatus.merge(linha.getStatusPedido() + ":" + linha.getPago(), parcial, (a, b) -> new VendasStatusDTO(
+                    a.statusPedido(), a.pago(), a.pedidos() + b.pedidos(), a.valorTotal().add(b.valorTotal())));
+        }
+        return porStatus.values().stream()
+                .filter(total -> total.pedidos() != 0)
+                .sorted(Comparator.comparing(VendasStatusDTO::statusPedido).thenComparing(VendasStatusDTO::pago))
+                .toList();
+    }
+}
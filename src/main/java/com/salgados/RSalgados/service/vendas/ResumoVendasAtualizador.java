@@ -0,0 +1,402 @@
+package com.salgados.RSalgados.service.vendas;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.domain.pedidos.eventos.EventoPedido;
+import com.salgados.RSalgados.domain.pedidos.eventos.ItemAlterado;
+import com.salgados.RSalgados.domain.pedidos.eventos.ItemEvento;
+import com.salgados.RSalgados.domain.pedidos.eventos.PedidoCriado;
+import com.salgados.RSalgados.domain.pedidos.eventos.PedidoPago;
+import com.salgados.RSalgados.domain.pedidos.eventos.StatusAlterado;
+import com.salgados.RSalgados.domain.vendas.ResumoItemDiario;
+import com.salgados.RSalgados.domain.vendas.ResumoVendasDiario;
+import com.salgados.RSalgados.dto.vendas.ItemVendidoDTO;
+import com.salgados.RSalgados.dto.vendas.ReconstrucaoVendasDTO;
+import com.salgados.RSalgados.dto.vendas.VendasStatusDTO;
+import com.salgados.RSalgados.repository.ItemPedidoRepository;
+import com.salgados.RSalgados.repository.PedidoRepository;
+import com.salgados.RSalgados.repository.ResumoItemDiarioRepository;
+import com.salgados.RSalgados.repository.ResumoVendasDiarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantém os resumos diários de vendas ({@link ResumoVendasDiario} e
+ * {@link ResumoItemDiario}) a partir dos eventos de pedido.
+ *
+ * <p>Cada evento confirmado vira uma diferença (pedidos, quantidade, valor)
+ * somada em memória por dia/status/pagamento e por dia/item. A cada
+ * {@code rsalgados.vendas.intervalo-ms} as diferenças acumuladas são
+ * gravadas numa única transação, um UPDATE por linha de resumo: a
+ * requisição nunca espera pelos resumos, e as linhas mais disputadas (o
+ * dia de hoje) recebem uma escrita por ciclo em vez de uma por pedido.
+ *
+ * <p>As diferenças em memória se perdem se a aplicação cair antes da
+ * gravação, e alterações feitas fora do {@code PedidoServiceImpl} não geram
+ * evento. Para esses casos há a reconstrução ({@link #agendarReconstrucao}),
+ * que recalcula os dias a partir de {@code pedido} e {@code item_pedido},
+ * um dia por transação, no mesmo ciclo que grava as diferenças.
+ *
+ * <p>A reconstrução em si pode deixar um desvio pequeno (ver
+ * {@link #reconstruirDia}). Por isso, todo dia
+ * ({@code rsalgados.vendas.reconciliacao-cron}, padrão 03:30 no fuso dos
+ * resumos) os {@code rsalgados.vendas.reconciliacao-dias} dias anteriores a
+ * hoje são reconstruídos de novo; como esses dias quase não recebem mais
+ * eventos, o desvio some.
+ */
+@Component
+public class ResumoVendasAtualizador {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumoVendasAtualizador.class);
+
+    private final ResumoVendasDiarioRepository resumoVendasRepository;
+    private final ResumoItemDiarioRepository resumoItemRepository;
+    private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId fuso;
+    private final int diasPorCiclo;
+    private final int diasReconciliacao;
+
+    private final Map<ChaveVendas, Diferenca> pendentesVendas = new ConcurrentHashMap<>();
+    private final Map<ChaveItem, Diferenca> pendentesItens = new ConcurrentHashMap<>();
+
+    private final AtomicReference<ReconstrucaoVendasDTO> reconstrucao = new AtomicReference<>();
+
+    /**
+     * Leitura: eventos sendo acumulados. Escrita: um dia sendo reconstruído,
+     * do descarte das diferenças do dia até o fim do GROUP BY.
+     */
+    private final ReadWriteLock reconstrucaoEmCurso = new ReentrantReadWriteLock();
+
+    public ResumoVendasAtualizador(ResumoVendasDiarioRepository resumoVendasRepository,
+                                   ResumoItemDiarioRepository resumoItemRepository,
+                                   PedidoRepository pedidoRepository,
+                                   ItemPedidoRepository itemPedidoRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry registry,
+                                   @Value("${rsalgados.vendas.fuso:America/Sao_Paulo}") ZoneId fuso,
+                                   @Value("${rsalgados.vendas.reconstrucao.dias-por-ciclo:7}") int diasPorCiclo,
+                                   @Value("${rsalgados.vendas.reconciliacao-dias:2}") int diasReconciliacao) {
+        this.resumoVendasRepository = resumoVendasRepository;
+        this.resumoItemRepository = resumoItemRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.itemPedidoRepository = itemPedidoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fuso = fuso;
+        this.diasPorCiclo = diasPorCiclo;
+        this.diasReconciliacao = diasReconciliacao;
+        registry.gauge("vendas.resumo.pendentes", this, a -> a.pendentesVendas.size() + a.pendentesItens.size());
+    }
+
+    /**
+     * @return fuso usado para definir o dia de cada pedido
+     */
+    public ZoneId getFuso() {
+        return fuso;
+    }
+
+    // ===========================
+    // DIFERENÇAS DOS EVENTOS
+    // ===========================
+
+    /**
+     * Acumula a diferença causada por um evento de pedido já confirmado.
+     *
+     * <p>Espera enquanto um dia está sendo reconstruído (ver
+     * {@link #reconstruirDia}); fora isso, só concorre com outros eventos.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void registrar(EventoPedido evento) {
+        LocalDate dia = LocalDate.ofInstant(evento.dataPedido(), fuso);
+
+        Lock registro = reconstrucaoEmCurso.readLock();
+        registro.lock();
+        try {
+            acumular(dia, evento);
+        } finally {
+            registro.unlock();
+        }
+    }
+
+    private void acumular(LocalDate dia, EventoPedido evento) {
+        switch (evento) {
+            case PedidoCriado e -> {
+                somarVendas(dia, StatusPedido.CRIADO, false, 1, e.valorTotal());
+                for (ItemEvento item : e.itens()) {
+                    somarItem(dia, item.descricao(), item.quantidade(), item.subtotal());
+                }
+            }
+            case PedidoPago e -> {
+                somarVendas(dia, e.statusPedido(), false, -1, e.valorTotal().negate());
+                somarVendas(dia, e.statusPedido(), true, 1, e.valorTotal());
+            }
+            case StatusAlterado e -> {
+                boolean pago = Boolean.TRUE.equals(e.pago());
+                somarVendas(dia, e.statusAnterior(), pago, -1, e.valorTotal().negate());
+                somarVendas(dia, e.statusNovo(), pago, 1, e.valorTotal());
+            }
+            case ItemAlterado e -> {
+                BigDecimal diferenca = e.subtotalNovo().subtract(e.subtotalAnterior());
+                somarVendas(dia, e.statusPedido(), Boolean.TRUE.equals(e.pago()), 0, diferenca);
+                if (Objects.equals(e.descricaoAnterior(), e.descricao())) {
+                    somarItem(dia, e.descricao(), e.quantidadeNova() - e.quantidadeAnterior(), diferenca);
+                } else {
+                    // Troca de produto: a venda sai do nome antigo e entra no novo
+                    somarItem(dia, e.descricaoAnterior(), -e.quantidadeAnterior(), e.subtotalAnterior().negate());
+                    somarItem(dia, e.descricao(), e.quantidadeNova(), e.subtotalNovo());
+                }
+            }
+        }
+    }
+
+    /**
+     * Grava as diferenças acumuladas e avança a reconstrução, se houver uma em andamento.
+     *
+     * <p>Só este método escreve nos resumos, e nunca em paralelo consigo
+     * mesmo: gravação e reconstrução não disputam as mesmas linhas.
+     */
+    @Scheduled(fixedDelayString = "${rsalgados.vendas.intervalo-ms:5000}")
+    public synchronized void gravarPendentes() {
+        Map<ChaveVendas, Diferenca> vendas = retirar(pendentesVendas);
+        Map<ChaveItem, Diferenca> itens = retirar(pendentesItens);
+
+        if (!vendas.isEmpty() || !itens.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    vendas.forEach(this::gravarVendas);
+                    itens.forEach(this::gravarItem);
+                });
+            } catch (RuntimeException e) {
+                // Devolve as diferenças para a próxima tentativa
+                log.warn("Falha ao gravar resumos de vendas ({} linhas)", vendas.size() + itens.size(), e);
+                vendas.forEach((chave, diferenca) -> pendentesVendas.merge(chave, diferenca, Diferenca::somar));
+                itens.forEach((chave, diferenca) -> pendentesItens.merge(chave, diferenca, Diferenca::somar));
+                return;
+            }
+        }
+
+        avancarReconstrucao();
+    }
+
+    // ===========================
+    // RECONSTRUÇÃO
+    // ===========================
+
+    /**
+     * Agenda a reconstrução dos resumos do período, substituindo qualquer
+     * reconstrução em andamento.
+     *
+     * <p>Os dias são recalculados em ordem, {@code rsalgados.vendas.reconstrucao.dias-por-ciclo}
+     * por ciclo de gravação, cada um na sua transação.
+     *
+     * @param desde primeiro dia (inclusive)
+     * @param ate último dia (inclusive)
+     * @return andamento inicial da reconstrução
+     * @throws IllegalArgumentException se {@code desde} for depois de {@code ate}
+     */
+    public ReconstrucaoVendasDTO agendarReconstrucao(LocalDate desde, LocalDate ate) {
+        if (desde.isAfter(ate)) {
+            throw new IllegalArgumentException("Período inválido: " + desde + " depois de " + ate);
+        }
+        ReconstrucaoVendasDTO nova = new ReconstrucaoVendasDTO(desde, ate, desde, false);
+        reconstrucao.set(nova);
+        return nova;
+    }
+
+    /**
+     * Agenda a reconstrução dos dias anteriores a hoje, para corrigir o
+     * desvio que diferenças e reconstruções concorrentes podem deixar.
+     *
+     * <p>Não interrompe uma reconstrução em andamento.
+     */
+    @Scheduled(cron = "${rsalgados.vendas.reconciliacao-cron:0 30 3 * * *}",
+            zone = "${rsalgados.vendas.fuso:America/Sao_Paulo}")
+    public void reconciliarDiasAnteriores() {
+        ReconstrucaoVendasDTO atual = reconstrucao.get();
+        if (atual != null && !atual.concluida()) {
+            log.info("Reconciliação dos resumos adiada: reconstrução de {} a {} em andamento",
+                    atual.desde(), atual.ate());
+            return;
+        }
+        LocalDate hoje = LocalDate.now(fuso);
+        agendarReconstrucao(hoje.minusDays(diasReconciliacao), hoje.minusDays(1));
+    }
+
+    /**
+     * @return andamento da última reconstrução agendada, ou null se nenhuma foi agendada
+     */
+    public ReconstrucaoVendasDTO getReconstrucao() {
+        return reconstrucao.get();
+    }
+
+    private void avancarReconstrucao() {
+        for (int i = 0; i < diasPorCiclo; i++) {
+            ReconstrucaoVendasDTO atual = reconstrucao.get();
+            if (atual == null || atual.concluida()) {
+                return;
+            }
+
+            LocalDate dia = atual.proximoDia();
+            transactionTemplate.executeWithoutResult(status -> reconstruirDia(dia));
+
+            LocalDate proximo = dia.plusDays(1);
+            ReconstrucaoVendasDTO avancada = new ReconstrucaoVendasDTO(
+                    atual.desde(), atual.ate(), proximo, proximo.isAfter(atual.ate()));
+            // Se outra reconstrução foi agendada nesse meio tempo, ela prevalece
+            reconstrucao.compareAndSet(atual, avancada);
+        }
+    }
+
+    /**
+     * Substitui os resumos do dia pelo resultado de um GROUP BY sobre os pedidos do dia.
+     *
+     * <p>Diferenças já em memória vêm de transações confirmadas, que o
+     * GROUP BY enxerga: são descartadas para não contar duas vezes. Os
+     * eventos ficam bloqueados do descarte até o fim das consultas.
+     *
+     * <p>Isso não fecha a corrida. Uma transação confirmada antes das
+     * consultas cujo evento ({@code AFTER_COMMIT}) só chega depois do
+     * desbloqueio é contada pelo GROUP BY e somada de novo como diferença.
+     * Diferenças ainda em memória em outras instâncias também não são
+     * descartadas e contam duas vezes. O desvio fica limitado aos eventos
+     * do dia em trânsito durante a reconstrução e é corrigido pela
+     * reconciliação diária ({@link #reconciliarDiasAnteriores}).
+     */
+    private void reconstruirDia(LocalDate dia) {
+        Instant inicio = dia.atStartOfDay(fuso).toInstant();
+        Instant fim = dia.plusDays(1).atStartOfDay(fuso).toInstant();
+
+        List<VendasStatusDTO> vendas;
+        List<ItemVendidoDTO> itens;
+        Lock reconstrucaoDia = reconstrucaoEmCurso.writeLock();
+        reconstrucaoDia.lock();
+        try {
+            pendentesVendas.keySet().removeIf(chave -> chave.dia().equals(dia));
+            pendentesItens.keySet().removeIf(chave -> chave.dia().equals(dia));
+            vendas = pedidoRepository.resumirVendas(inicio, fim);
+            itens = itemPedidoRepository.resumirItensVendidos(inicio, fim);
+        } finally {
+            reconstrucaoDia.unlock();
+        }
+
+        resumoVendasRepository.apagarDia(dia);
+        resumoItemRepository.apagarDia(dia);
+
+        for (VendasStatusDTO linha : vendas) {
+            ResumoVendasDiario resumo = new ResumoVendasDiario();
+            resumo.setDia(dia);
+            resumo.setStatusPedido(linha.statusPedido());
+            resumo.setPago(linha.pago());
+            resumo.setQuantidadePedidos(linha.pedidos());
+            resumo.setValorTotal(linha.valorTotal());
+            resumoVendasRepository.save(resumo);
+        }
+
+        for (ItemVendidoDTO linha : itens) {
+            ResumoItemDiario resumo = new ResumoItemDiario();
+            resumo.setDia(dia);
+            resumo.setDescricao(linha.descricao());
+            resumo.setQuantidade(linha.quantidade());
+            resumo.setValorTotal(linha.valorTotal() == null ? BigDecimal.ZERO : linha.valorTotal());
+            resumoItemRepository.save(resumo);
+        }
+    }
+
+    // ===========================
+    // MÉTODOS AUXILIARES
+    // ===========================
+
+    private void somarVendas(LocalDate dia, StatusPedido status, boolean pago, long pedidos, BigDecimal valor) {
+        pendentesVendas.merge(new ChaveVendas(dia, status, pago), new Diferenca(pedidos, valor), Diferenca::somar);
+    }
+
+    private void somarItem(LocalDate dia, String descricao, long quantidade, BigDecimal valor) {
+        pendentesItens.merge(new ChaveItem(dia, descricao), new Diferenca(quantidade, valor), Diferenca::somar);
+    }
+
+    private void gravarVendas(ChaveVendas chave, Diferenca diferenca) {
+        if (diferenca.nula()) {
+            return;
+        }
+        int linhas = resumoVendasRepository.somar(
+                chave.dia(), chave.status(), chave.pago(), diferenca.quantidade(), diferenca.valor());
+        if (linhas == 0) {
+            ResumoVendasDiario resumo = new ResumoVendasDiario();
+            resumo.setDia(chave.dia());
+            resumo.setStatusPedido(chave.status());
+            resumo.setPago(chave.pago());
+            resumo.setQuantidadePedidos(diferenca.quantidade());
+            resumo.setValorTotal(diferenca.valor());
+            resumoVendasRepository.save(resumo);
+        }
+    }
+
+    private void gravarItem(ChaveItem chave, Diferenca diferenca) {
+        if (diferenca.nula()) {
+            return;
+        }
+        int linhas = resumoItemRepository.somar(chave.dia(), chave.descricao(), diferenca.quantidade(), diferenca.valor());
+        if (linhas == 0) {
+            ResumoItemDiario resumo = new ResumoItemDiario();
+            resumo.setDia(chave.dia());
+            resumo.setDescricao(chave.descricao());
+            resumo.setQuantidade(diferenca.quantidade());
+            resumo.setValorTotal(diferenca.valor());
+            resumoItemRepository.save(resumo);
+        }
+    }
+
+    /**
+     * Remove do mapa, uma chave por vez, tudo o que foi acumulado até agora.
+     * Diferenças que chegam durante a retirada ficam para o próximo ciclo.
+     */
+    private static <K> Map<K, Diferenca> retirar(Map<K, Diferenca> pendentes) {
+        Map<K, Diferenca> retiradas = new HashMap<>();
+        for (K chave : pendentes.keySet()) {
+            Diferenca diferenca = pendentes.remove(chave);
+            if (diferenca != null) {
+                retiradas.put(chave, diferenca);
+            }
+        }
+        return retiradas;
+    }
+
+    private record ChaveVendas(LocalDate dia, StatusPedido status, boolean pago) {}
+
+    private record ChaveItem(LocalDate dia, String descricao) {}
+
+    /**
+     * Diferença a somar numa linha de resumo: pedidos (ou quantidade de itens) e valor.
+     */
+    private record Diferenca(long quantidade, BigDecimal valor) {
+        Diferenca somar(Diferenca outra) {
+            return new Diferenca(quantidade + outra.quantidade, valor.add(outra.valor));
+        }
+
+        boolean nula() {
+            return quantidade == 0 && valor.signum() == 0;
+        }
+    }
+}
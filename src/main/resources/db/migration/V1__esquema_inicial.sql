@@ -0,0 +1,77 @@
+-- Esquema inicial do RSalgados (PostgreSQL).
+-- Espelha as entidades JPA; o perfil prod roda com ddl-auto=validate.
+
+create table usuarios (
+    id     uuid         not null primary key,
+    email  varchar(255) not null,
+    senha  varchar(255) not null,
+    role   varchar(255),
+    ativo  boolean,
+    constraint uk_usuarios_email unique (email)
+);
+
+-- A unique de usuario_id já cria o índice usado no join com usuarios
+create table clientes (
+    id         uuid         not null primary key,
+    nome       varchar(255),
+    telefone   varchar(255),
+    endereco   varchar(255),
+    usuario_id uuid         not null,
+    constraint uk_clientes_usuario unique (usuario_id),
+    constraint fk_clientes_usuario foreign key (usuario_id) references usuarios (id)
+);
+
+create table pedido (
+    id            uuid                        not null primary key,
+    data_pedido   timestamp(6) with time zone not null,
+    valor_total   numeric(38, 2)              not null,
+    pago          boolean                     not null,
+    status_pedido varchar(255),
+    versao        bigint                      not null,
+    atualizado_em timestamp(6) with time zone not null,
+    cliente_id    uuid                        not null,
+    constraint fk_pedido_cliente foreign key (cliente_id) references clientes (id)
+);
+
+-- cliente_id na frente: serve também como índice da FK
+create index idx_pedido_cliente_data on pedido (cliente_id, data_pedido, id);
+create index idx_pedido_status_data on pedido (status_pedido, data_pedido);
+create index idx_pedido_atualizado on pedido (atualizado_em, id);
+-- Só os pedidos em aberto: pequeno e sempre quente
+create index idx_pedido_nao_pago on pedido (cliente_id, data_pedido) where pago = false;
+
+create table item_pedido (
+    id             uuid           not null primary key,
+    id_pedido      uuid           not null,
+    descricao      varchar(255)   not null,
+    quantidade     integer        not null,
+    preco_unitario numeric(38, 2) not null,
+    subtotal       numeric(38, 2) generated always as (preco_unitario * quantidade) stored,
+    constraint fk_item_pedido_pedido foreign key (id_pedido) references pedido (id)
+);
+
+create index idx_item_pedido_pedido on item_pedido (id_pedido);
+
+create sequence evento_outbox_seq start with 1 increment by 50;
+
+create table evento_outbox (
+    id            bigint                      not null primary key,
+    tipo          varchar(40)                 not null,
+    pedido_id     uuid                        not null,
+    payload       varchar(4000)               not null,
+    criado_em     timestamp(6) with time zone not null,
+    processado_em timestamp(6) with time zone,
+    tentativas    integer                     not null,
+    erro          varchar(500)
+);
+
+create index idx_evento_outbox_pendentes on evento_outbox (processado_em, id);
+
+create table registro_idempotencia (
+    chave     varchar(200)                not null primary key,
+    resposta  varchar(65535),
+    criado_em timestamp(6) with time zone not null,
+    expira_em timestamp(6) with time zone not null
+);
+
+create index idx_registro_idempotencia_expira on registro_idempotencia (expira_em);
@@ -0,0 +1,21 @@
+-- Resumos diários de vendas, mantidos pelo ResumoVendasAtualizador.
+
+-- Usado pela reconstrução dos resumos, que varre os pedidos um dia por vez
+create index idx_pedido_data on pedido (data_pedido);
+
+create table resumo_vendas_diario (
+    dia                date           not null,
+    status_pedido      varchar(255)   not null,
+    pago               boolean        not null,
+    quantidade_pedidos bigint         not null,
+    valor_total        numeric(38, 2) not null,
+    primary key (dia, status_pedido, pago)
+);
+
+create table resumo_item_diario (
+    dia         date           not null,
+    descricao   varchar(255)   not null,
+    quantidade  bigint         not null,
+    valor_total numeric(38, 2) not null,
+    primary key (dia, descricao)
+);
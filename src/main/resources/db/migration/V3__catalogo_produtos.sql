@@ -0,0 +1,13 @@
+-- Catálogo de produtos; os pedidos leem o snapshot em memória (CatalogoProdutos).
+
+create sequence produto_seq start with 1 increment by 50;
+
+create table produto (
+    id    bigint         not null primary key,
+    nome  varchar(255)   not null,
+    preco numeric(38, 2) not null,
+    ativo boolean        not null
+);
+
+-- Sem FK: o item guarda descrição e preço da época, e produtos só são desativados
+alter table item_pedido add column produto_id bigint;
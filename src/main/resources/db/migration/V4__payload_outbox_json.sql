@@ -0,0 +1,2 @@
+-- Payload da outbox em JSON, sem limite de tamanho (antes era toString() truncado em 4000)
+alter table evento_outbox alter column payload type text;
@@ -0,0 +1,2 @@
+-- ETag da listagem: count(*) e max(atualizado_em) dos pedidos do cliente só pelo índice
+create index idx_pedido_cliente_atualizado on pedido (cliente_id, atualizado_em);
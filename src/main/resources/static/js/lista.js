@@ -24,11 +24,7 @@ function renderizar() {
     let linhas = pedidoAtual.itens.map((item, i) => `
         <tr>
             <td>
-                ${modoEdicao
-                    ? `<input class="form-control form-control-sm"
-                                value="${item.descricao}"
-                                onchange="update(${i}, 'descricao', this.value)">`
-                    : item.descricao}
+                ${item.descricao}
             </td>
             <td>
                 ${modoEdicao
@@ -37,14 +33,7 @@ function renderizar() {
                                 onchange="update(${i}, 'quantidade', this.value)">`
                     : item.quantidade}
             </td>
-            <td>
-                ${modoEdicao
-                    ? `<input type="number" step="0.01"
-                                class="form-control form-control-sm text-end"
-                                value="${item.precoUnitario}"
-                                onchange="update(${i}, 'precoUnitario', this.value)">`
-                    : `R$ ${item.precoUnitario.toFixed(2)}`}
-            </td>
+            <td class="text-end">R$ ${item.precoUnitario.toFixed(2)}</td>
             <td class="text-end">R$ ${(item.quantidade * item.precoUnitario).toFixed(2)}</td>
         </tr>
     `).join("");
@@ -70,8 +59,7 @@ function renderizar() {
 
 function update(index, campo, valor) {
     alterado = true;
-    pedidoAtual.itens[index][campo] =
-        campo === "descricao" ? valor : Number(valor);
+    pedidoAtual.itens[index][campo] = Number(valor);
     renderizar();
 }
 
@@ -79,10 +67,10 @@ function salvarAlteracoes() {
     const payload = {
         clienteId: pedidoAtual.clienteId,
         itens: pedidoAtual.itens.map(item => ({
-            descricao: item.descricao,
-            quantidade: item.quantidade,
-            // Certifique-se de usar 'valorUnitario' para bater com o CriarItemPedidoDTO
-            valorUnitario: item.precoUnitario 
+            // Com o id, o servidor atualiza só os itens alterados
+            // Descrição e preço gravados não mudam: só a quantidade é enviada
+            id: item.id,
+            quantidade: item.quantidade
         }))
     };
 
@@ -99,9 +87,18 @@ function salvarAlteracoes() {
     });
 }
 
+// Uma chave por pedido enquanto a página estiver aberta: cliques repetidos
+// e retentativas são reconhecidos pelo servidor como o mesmo pagamento
+const chavesPagamento = {};
+
 function marcarComoPago(btn) {
-    fetch(`/pedido/api/${btn.dataset.id}/pagar`, {method: "PUT"})
-        .then(() => location.reload());
+    const id = btn.dataset.id;
+    chavesPagamento[id] ??= crypto.randomUUID ? crypto.randomUUID() : `${Date.now()}-${Math.random()}`;
+
+    fetch(`/pedido/api/${id}/pagar`, {
+        method: "PUT",
+        headers: { "Idempotency-Key": chavesPagamento[id] }
+    }).then(() => location.reload());
 }
 
 function deletarPedido(btn) {
@@ -1,4 +1,4 @@
-let itemIndex = 1; // Começa em 1 porque já existe o item 0
+let itemIndex = document.querySelectorAll(".item-pedido").length; // Itens já renderizados pelo servidor
 
 function criarItemHtml(index) {
     return `
@@ -10,8 +10,10 @@ function criarItemHtml(index) {
             </div>
             <div class="row g-3">
                 <div class="col-md-6">
-                    <label class="form-label">Descrição</label>
-                    <input type="text" class="form-control item-descricao" name="itens[${index}].descricao" required>
+                    <label class="form-label">Produto</label>
+                    <select class="form-select item-produto" name="itens[${index}].produtoId" onchange="atualizarPreco(this)" required>
+                        ${document.getElementById("opcoes-produtos").innerHTML}
+                    </select>
                 </div>
                 <div class="col-md-3">
                     <label class="form-label">Quantidade</label>
@@ -19,7 +21,7 @@ function criarItemHtml(index) {
                 </div>
                 <div class="col-md-3">
                     <label class="form-label">Valor Unitário</label>
-                    <input type="number" class="form-control item-valorUnitario" name="itens[${index}].valorUnitario" step="0.01" min="0" value="0.00" required>
+                    <input type="number" class="form-control item-valorUnitario" step="0.01" value="0.00" readonly>
                 </div>
             </div>
         </div>
@@ -52,12 +54,26 @@ function reindexarItens() {
         item.dataset.index = index;
         item.querySelector("strong").innerText = `Item ${index + 1}`;
         
-        item.querySelector('.item-descricao').name = `itens[${index}].descricao`;
+        const id = item.querySelector('.item-id');
+        if (id) {
+            id.name = `itens[${index}].id`;
+        }
+        const produto = item.querySelector('.item-produto');
+        if (produto) {
+            produto.name = `itens[${index}].produtoId`;
+        }
         item.querySelector('.item-quantidade').name = `itens[${index}].quantidade`;
-        item.querySelector('.item-valorUnitario').name = `itens[${index}].valorUnitario`;
     });
 }
 
+// Preço exibido do produto escolhido; o servidor precifica pelo catálogo
+function atualizarPreco(select) {
+    const opcao = select.options[select.selectedIndex];
+    const valor = select.closest(".item-pedido").querySelector('.item-valorUnitario');
+    valor.value = opcao.dataset.preco || '0.00';
+    calcularTotal();
+}
+
 function calcularTotal() {
     let total = 0.0;
     
@@ -74,7 +90,7 @@ function calcularTotal() {
 function attachListenersToLastItem() {
     const ultimoItem = document.querySelector('.item-pedido:last-child');
     if (ultimoItem) {
-        ultimoItem.querySelectorAll('.item-quantidade, .item-valorUnitario').forEach(input => {
+        ultimoItem.querySelectorAll('.item-quantidade').forEach(input => {
             input.addEventListener('input', calcularTotal);
         });
     }
@@ -82,7 +98,7 @@ function attachListenersToLastItem() {
 
 // Adiciona listeners em TODOS os itens existentes
 function attachListeners() {
-    document.querySelectorAll('.item-quantidade, .item-valorUnitario').forEach(input => {
+    document.querySelectorAll('.item-quantidade').forEach(input => {
         // Remove listener duplicado antes de adicionar
         input.removeEventListener('input', calcularTotal);
         input.addEventListener('input', calcularTotal);
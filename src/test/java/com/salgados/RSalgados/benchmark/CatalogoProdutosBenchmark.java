@@ -0,0 +1,105 @@
+package com.salgados.RSalgados.benchmark;
+
+import com.salgados.RSalgados.domain.produtos.Produto;
+import com.salgados.RSalgados.dto.produtos.ProdutoDTO;
+import com.salgados.RSalgados.dto.produtos.SalvarProdutoDTO;
+import com.salgados.RSalgados.repository.ProdutoRepository;
+import com.salgados.RSalgados.service.produtos.CatalogoProdutos;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preço dos itens de um pedido: um {@code findById} por item via JPA,
+ * dentro de uma transação, contra o snapshot em memória do
+ * {@link CatalogoProdutos}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogoProdutosBenchmark {
+
+	/** Produtos no catálogo. */
+	@Param({"500"})
+	public int produtos;
+
+	/** Itens precificados por pedido. */
+	@Param({"10", "100"})
+	public int itens;
+
+	private ContextoBenchmark contexto;
+	private ProdutoRepository produtoRepository;
+	private CatalogoProdutos catalogoProdutos;
+	private TransactionTemplate transactionTemplate;
+	private long[] ids;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		contexto = ContextoBenchmark.iniciar();
+		produtoRepository = contexto.bean(ProdutoRepository.class);
+		catalogoProdutos = contexto.bean(CatalogoProdutos.class);
+		transactionTemplate = new TransactionTemplate(contexto.bean(PlatformTransactionManager.class));
+		transactionTemplate.setReadOnly(true);
+
+		ProdutoService produtoService = contexto.bean(ProdutoService.class);
+		ids = new long[produtos];
+		for (int i = 0; i < produtos; i++) {
+			SalvarProdutoDTO dto = new SalvarProdutoDTO();
+			dto.setNome("Salgado " + i);
+			dto.setPreco(new BigDecimal("1.75"));
+			ids[i] = produtoService.criar(dto).id();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public BigDecimal precificarViaJpa() {
+		return transactionTemplate.execute(status -> {
+			BigDecimal total = BigDecimal.ZERO;
+			for (int i = 0; i < itens; i++) {
+				Produto produto = produtoRepository.findById(sortear()).orElseThrow();
+				total = total.add(produto.getPreco());
+			}
+			return total;
+		});
+	}
+
+	@Benchmark
+	public BigDecimal precificarViaSnapshot() {
+		BigDecimal total = BigDecimal.ZERO;
+		for (int i = 0; i < itens; i++) {
+			ProdutoDTO produto = catalogoProdutos.buscar(sortear());
+			total = total.add(produto.preco());
+		}
+		return total;
+	}
+
+	private long sortear() {
+		return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+	}
+
+}
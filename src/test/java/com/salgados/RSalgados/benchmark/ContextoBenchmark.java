@@ -0,0 +1,108 @@
+package com.salgados.RSalgados.benchmark;
+
+import com.salgados.RSalgados.RSalgadosApplication;
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.domain.usuarios.Role;
+import com.salgados.RSalgados.dto.pedidos.CriarItemPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.CriarPedidoDTO;
+import com.salgados.RSalgados.dto.produtos.SalvarProdutoDTO;
+import com.salgados.RSalgados.dto.usuarios.UsuarioAutenticado;
+import com.salgados.RSalgados.service.ClienteService;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.UUID;
+
+/**
+ * Sobe a aplicação com H2 em memória para os benchmarks e autentica
+ * um cliente de teste no contexto de segurança.
+ *
+ * <p>O contexto de segurança fica em modo global porque o JMH executa
+ * setup e medição em threads diferentes.
+ */
+final class ContextoBenchmark implements AutoCloseable {
+
+	/** Senha do cliente de teste. */
+	static final String SENHA = "senha";
+
+	private final ConfigurableApplicationContext contexto;
+	private final UUID clienteId;
+	private final String email;
+	private final Long produtoId;
+
+	private ContextoBenchmark(ConfigurableApplicationContext contexto, UUID clienteId, String email, Long produtoId) {
+		this.contexto = contexto;
+		this.clienteId = clienteId;
+		this.email = email;
+		this.produtoId = produtoId;
+	}
+
+	static ContextoBenchmark iniciar(String... propriedadesExtras) {
+		ConfigurableApplicationContext contexto = new SpringApplicationBuilder(RSalgadosApplication.class)
+				.properties(
+						"server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID(),
+						"spring.jpa.show-sql=false",
+						"logging.level.root=WARN")
+				.properties(propriedadesExtras)
+				.run();
+
+		String email = "benchmark-" + UUID.randomUUID() + "@rsalgados.com";
+		Cliente cliente = contexto.getBean(ClienteService.class)
+				.cadastrarCliente(email, SENHA, "Cliente Benchmark", "84999990000", "Rua do Forno, 1");
+
+		UsuarioAutenticado principal = new UsuarioAutenticado(
+				cliente.getUsuario().getId(), cliente.getId(), Role.CLIENTE, email, "", true);
+		SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+
+		SalvarProdutoDTO produto = new SalvarProdutoDTO();
+		produto.setNome("Salgado");
+		produto.setPreco(new BigDecimal("1.75"));
+		Long produtoId = contexto.getBean(ProdutoService.class).criar(produto).id();
+
+		return new ContextoBenchmark(contexto, cliente.getId(), email, produtoId);
+	}
+
+	<T> T bean(Class<T> tipo) {
+		return contexto.getBean(tipo);
+	}
+
+	UUID clienteId() {
+		return clienteId;
+	}
+
+	String email() {
+		return email;
+	}
+
+	int porta() {
+		return contexto.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+	}
+
+	CriarPedidoDTO novoPedido(int quantidadeItens) {
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(clienteId);
+		dto.setItens(new ArrayList<>(quantidadeItens));
+		for (int i = 0; i < quantidadeItens; i++) {
+			CriarItemPedidoDTO item = new CriarItemPedidoDTO();
+			item.setProdutoId(produtoId);
+			item.setQuantidade(1 + i % 5);
+			dto.getItens().add(item);
+		}
+		return dto;
+	}
+
+	@Override
+	public void close() {
+		SecurityContextHolder.clearContext();
+		contexto.close();
+	}
+
+}
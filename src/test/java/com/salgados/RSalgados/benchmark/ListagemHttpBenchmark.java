@@ -0,0 +1,94 @@
+package com.salgados.RSalgados.benchmark;
+
+import com.salgados.RSalgados.service.PedidoServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /pedido/api} por HTTP, com 64 clientes simultâneos, nos dois
+ * modos de execução: pool de threads de plataforma do Tomcat e virtual
+ * threads com o semáforo na frente do pool de conexões.
+ *
+ * <p>Reporta vazão e a distribuição de latência (p99 em {@code SampleTime}).
+ * Ambos os modos usam o mesmo pool de 5 conexões.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListagemHttpBenchmark {
+
+	@Param({"false", "true"})
+	public boolean virtualThreads;
+
+	ContextoBenchmark contexto;
+	HttpClient cliente;
+	HttpRequest listagem;
+
+	@Setup(Level.Trial)
+	public void iniciar() throws IOException, InterruptedException {
+		contexto = ContextoBenchmark.iniciar(
+				"spring.threads.virtual.enabled=" + virtualThreads,
+				"rsalgados.datasource.limite.habilitado=" + virtualThreads,
+				"spring.datasource.hikari.maximum-pool-size=5");
+		for (int i = 0; i < 500; i++) {
+			contexto.bean(PedidoServiceImpl.class).criarPedido(contexto.novoPedido(3));
+		}
+
+		String base = "http://localhost:" + contexto.porta();
+		cliente = HttpClient.newBuilder()
+				.cookieHandler(new CookieManager())
+				.build();
+
+		// Login pelo formulário; o cookie de sessão fica no CookieManager
+		String formulario = "username=" + URLEncoder.encode(contexto.email(), StandardCharsets.UTF_8)
+				+ "&password=" + URLEncoder.encode(ContextoBenchmark.SENHA, StandardCharsets.UTF_8);
+		cliente.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+						.header("Content-Type", "application/x-www-form-urlencoded")
+						.POST(HttpRequest.BodyPublishers.ofString(formulario))
+						.build(),
+				HttpResponse.BodyHandlers.discarding());
+
+		listagem = HttpRequest.newBuilder(URI.create(base + "/pedido/api?limite=20")).GET().build();
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		cliente.close();
+		contexto.close();
+	}
+
+	@Benchmark
+	public int listarPedidos() throws IOException, InterruptedException {
+		HttpResponse<byte[]> resposta = cliente.send(listagem, HttpResponse.BodyHandlers.ofByteArray());
+		if (resposta.statusCode() != 200) {
+			throw new IllegalStateException("Status inesperado: " + resposta.statusCode());
+		}
+		return resposta.body().length;
+	}
+}
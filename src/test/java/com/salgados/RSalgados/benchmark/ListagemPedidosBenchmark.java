@@ -0,0 +1,86 @@
+package com.salgados.RSalgados.benchmark;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.dto.pedidos.PedidoListagemDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoListagemLinhaDTO;
+import com.salgados.RSalgados.mapper.PedidoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o mapeamento de 10 mil linhas da listagem de pedidos:
+ * o antigo ({@code SimpleDateFormat} criado a cada chamada, sobre {@code Timestamp})
+ * e o atual ({@code DateTimeFormatter} compartilhado, sobre {@code Instant}).
+ *
+ * <p>Rode com {@code -prof gc} para ver também a alocação por operação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListagemPedidosBenchmark {
+
+	private static final int LINHAS = 10_000;
+
+	private final PedidoMapper pedidoMapper = new PedidoMapper();
+
+	private List<PedidoListagemLinhaDTO> linhas;
+
+	private List<Timestamp> datasAntigas;
+
+	@Setup
+	public void preparar() {
+		linhas = new ArrayList<>(LINHAS);
+		datasAntigas = new ArrayList<>(LINHAS);
+		Instant agora = Instant.now();
+		StatusPedido[] status = StatusPedido.values();
+		for (int i = 0; i < LINHAS; i++) {
+			Instant data = agora.minusSeconds(i * 60L);
+			linhas.add(new PedidoListagemLinhaDTO(
+					UUID.randomUUID(), data, new BigDecimal("42.50"), i % 2 == 0, status[i % status.length]));
+			datasAntigas.add(Timestamp.from(data));
+		}
+	}
+
+	@Benchmark
+	public List<PedidoListagemDTO> mapeamentoAntigoSimpleDateFormat() {
+		SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
+		List<PedidoListagemDTO> resultado = new ArrayList<>(LINHAS);
+		for (int i = 0; i < LINHAS; i++) {
+			PedidoListagemLinhaDTO linha = linhas.get(i);
+			resultado.add(new PedidoListagemDTO(
+					linha.id(),
+					sdf.format(datasAntigas.get(i)),
+					linha.valorTotal(),
+					linha.pago(),
+					linha.statusPedido(),
+					null));
+		}
+		return resultado;
+	}
+
+	@Benchmark
+	public List<PedidoListagemDTO> mapeamentoDateTimeFormatter() {
+		return linhas.stream().map(pedidoMapper::toListagemDTO).toList();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.salgados.RSalgados.benchmark;
+
+import com.salgados.RSalgados.domain.pedidos.ItemPedido;
+import com.salgados.RSalgados.domain.pedidos.Pedido;
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoItemLinhaDTO;
+import com.salgados.RSalgados.mapper.PedidoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento para PedidoDTO no {@link PedidoMapper}, a partir de entidades
+ * ({@code toPedidoDTO}/{@code toItemDTO}) e a partir das linhas da projeção.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoPedidoBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int itens;
+
+	private final PedidoMapper pedidoMapper = new PedidoMapper();
+
+	private Pedido pedido;
+
+	private List<PedidoItemLinhaDTO> linhas;
+
+	@Setup
+	public void preparar() {
+		Cliente cliente = new Cliente();
+		cliente.setId(UUID.randomUUID());
+
+		pedido = new Pedido();
+		pedido.setId(UUID.randomUUID());
+		pedido.setCliente(cliente);
+		pedido.setDataPedido(Instant.now());
+		pedido.setStatusPedido(StatusPedido.CRIADO);
+		pedido.setPago(false);
+
+		linhas = new ArrayList<>(itens);
+		BigDecimal total = BigDecimal.ZERO;
+		for (int i = 0; i < itens; i++) {
+			ItemPedido item = new ItemPedido();
+			item.setId(UUID.randomUUID());
+			item.setPedido(pedido);
+			item.setDescricao("Salgado " + i);
+			item.setQuantidade(1 + i % 5);
+			item.setPrecoUnitario(new BigDecimal("1.75"));
+			pedido.getItens().add(item);
+			total = total.add(item.getPrecoUnitario().multiply(BigDecimal.valueOf(item.getQuantidade())));
+		}
+		pedido.setValorTotal(total);
+
+		for (ItemPedido item : pedido.getItens()) {
+			linhas.add(new PedidoItemLinhaDTO(
+					pedido.getId(), pedido.getDataPedido(), pedido.getValorTotal(), pedido.getPago(),
+					pedido.getStatusPedido(), cliente.getId(),
+					item.getId(), item.getDescricao(), item.getQuantidade(), item.getPrecoUnitario(), null));
+		}
+	}
+
+	@Benchmark
+	public PedidoDTO toPedidoDTODaEntidade() {
+		return pedidoMapper.toPedidoDTO(pedido);
+	}
+
+	@Benchmark
+	public PedidoDTO toPedidoDTODaProjecao() {
+		return pedidoMapper.toPedidoDTO(linhas);
+	}
+
+}
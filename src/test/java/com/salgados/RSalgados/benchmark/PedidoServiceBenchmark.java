@@ -0,0 +1,113 @@
+package com.salgados.RSalgados.benchmark;
+
+import com.salgados.RSalgados.dto.pedidos.PaginaPedidosDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoListagemDTO;
+import com.salgados.RSalgados.service.PedidoServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos quentes do {@link PedidoServiceImpl} contra o H2 embarcado,
+ * com a aplicação completa (transações, JPA e segurança).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PedidoServiceBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Criacao {
+
+		@Param({"1", "10", "100"})
+		public int itens;
+
+		ContextoBenchmark contexto;
+		PedidoServiceImpl pedidoService;
+
+		@Setup(Level.Trial)
+		public void iniciar() {
+			contexto = ContextoBenchmark.iniciar();
+			pedidoService = contexto.bean(PedidoServiceImpl.class);
+		}
+
+		@TearDown(Level.Trial)
+		public void encerrar() {
+			contexto.close();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Historico {
+
+		/** Pedidos já existentes do cliente. */
+		@Param({"1000"})
+		public int pedidos;
+
+		/** Itens do pedido usado em recalcularTotal. */
+		@Param({"50"})
+		public int itensPorPedido;
+
+		ContextoBenchmark contexto;
+		PedidoServiceImpl pedidoService;
+		UUID pedidoGrande;
+
+		@Setup(Level.Trial)
+		public void iniciar() {
+			contexto = ContextoBenchmark.iniciar();
+			pedidoService = contexto.bean(PedidoServiceImpl.class);
+			for (int i = 0; i < pedidos; i++) {
+				pedidoService.criarPedido(contexto.novoPedido(3));
+			}
+			pedidoGrande = pedidoService.criarPedido(contexto.novoPedido(itensPorPedido)).id();
+		}
+
+		@TearDown(Level.Trial)
+		public void encerrar() {
+			contexto.close();
+		}
+	}
+
+	@Benchmark
+	public PedidoDTO criarPedido(Criacao estado) {
+		return estado.pedidoService.criarPedido(estado.contexto.novoPedido(estado.itens));
+	}
+
+	@Benchmark
+	public PedidoDTO recalcularTotal(Historico estado) {
+		return estado.pedidoService.recalcularTotal(estado.pedidoGrande);
+	}
+
+	@Benchmark
+	public PedidoDTO buscarPorId(Historico estado) {
+		return estado.pedidoService.buscarPorId(estado.pedidoGrande);
+	}
+
+	@Benchmark
+	public List<PedidoListagemDTO> listarPorClienteAutenticado(Historico estado) {
+		return estado.pedidoService.listarPorClienteAutenticado();
+	}
+
+	@Benchmark
+	public PaginaPedidosDTO listarPrimeiraPagina(Historico estado) {
+		return estado.pedidoService.listarPaginaPorClienteAutenticado(null, null, null, 20);
+	}
+
+}
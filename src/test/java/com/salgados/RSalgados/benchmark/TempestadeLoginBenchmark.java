@@ -0,0 +1,122 @@
+package com.salgados.RSalgados.benchmark;
+
+import com.salgados.RSalgados.service.PedidoServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rajada de logins concorrendo com a listagem de pedidos, tudo por HTTP.
+ *
+ * <p>Dezesseis threads fazem {@code POST /auth/login} sem parar enquanto duas
+ * fazem {@code GET /pedido/api}; o número que interessa é a distribuição de
+ * latência de {@code listarPedidos}. Com {@code threadsHash=64} o hash fica
+ * praticamente sem limite (como era antes) e disputa todos os núcleos com os
+ * pedidos; com {@code threadsHash=2} os logins fazem fila no executor de
+ * senhas e os pedidos continuam com CPU.
+ *
+ * <p>Roda com virtual threads e a fila padrão do executor de senhas, que
+ * comporta os dezesseis logins simultâneos.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Group)
+public class TempestadeLoginBenchmark {
+
+	/** Hashes de senha simultâneos. */
+	@Param({"2", "64"})
+	public int threadsHash;
+
+	ContextoBenchmark contexto;
+	HttpClient clienteLogin;
+	HttpClient clienteListagem;
+	HttpRequest login;
+	HttpRequest listagem;
+
+	@Setup(Level.Trial)
+	public void iniciar() throws IOException, InterruptedException {
+		contexto = ContextoBenchmark.iniciar(
+				"spring.threads.virtual.enabled=true",
+				"rsalgados.datasource.limite.habilitado=true",
+				"rsalgados.senhas.threads=" + threadsHash,
+				// Força fixa para os dois cenários serem comparáveis entre máquinas
+				"rsalgados.senhas.bcrypt-forca=12");
+		for (int i = 0; i < 200; i++) {
+			contexto.bean(PedidoServiceImpl.class).criarPedido(contexto.novoPedido(3));
+		}
+
+		String base = "http://localhost:" + contexto.porta();
+		String formulario = "username=" + URLEncoder.encode(contexto.email(), StandardCharsets.UTF_8)
+				+ "&password=" + URLEncoder.encode(ContextoBenchmark.SENHA, StandardCharsets.UTF_8);
+		login = HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(formulario))
+				.build();
+
+		// Sem cookies: cada login abre uma sessão nova e passa pelo hash
+		clienteLogin = HttpClient.newHttpClient();
+
+		// Login pelo formulário; o cookie de sessão fica no CookieManager
+		clienteListagem = HttpClient.newBuilder()
+				.cookieHandler(new CookieManager())
+				.build();
+		clienteListagem.send(login, HttpResponse.BodyHandlers.discarding());
+
+		listagem = HttpRequest.newBuilder(URI.create(base + "/pedido/api?limite=20")).GET().build();
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		clienteLogin.close();
+		clienteListagem.close();
+		contexto.close();
+	}
+
+	@Benchmark
+	@Group("tempestade")
+	@GroupThreads(16)
+	public int login() throws IOException, InterruptedException {
+		HttpResponse<Void> resposta = clienteLogin.send(login, HttpResponse.BodyHandlers.discarding());
+		String destino = resposta.headers().firstValue("Location").orElse("");
+		if (resposta.statusCode() != 302 || destino.contains("error")) {
+			throw new IllegalStateException("Login recusado: " + resposta.statusCode() + " " + destino);
+		}
+		return resposta.statusCode();
+	}
+
+	@Benchmark
+	@Group("tempestade")
+	@GroupThreads(2)
+	public int listarPedidos() throws IOException, InterruptedException {
+		HttpResponse<byte[]> resposta = clienteListagem.send(listagem, HttpResponse.BodyHandlers.ofByteArray());
+		if (resposta.statusCode() != 200) {
+			throw new IllegalStateException("Status inesperado: " + resposta.statusCode());
+		}
+		return resposta.body().length;
+	}
+}
@@ -0,0 +1,82 @@
+package com.salgados.RSalgados.config;
+
+import com.salgados.RSalgados.repository.UsuarioRepository;
+import com.salgados.RSalgados.service.ClienteService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("replica")
+class RoteamentoLeituraTests {
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@AfterEach
+	void limparRequisicao() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void transacaoSomenteLeituraVaiParaReplica() {
+		double antes = leituras("replica");
+
+		// count() roda em @Transactional(readOnly = true)
+		usuarioRepository.count();
+
+		assertThat(leituras("replica")).isGreaterThan(antes);
+	}
+
+	@Test
+	void sessaoQueAcabouDeEscreverLeDoPrimario() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		RoteamentoLeituraDataSource.registrarEscrita();
+		double antes = leituras("primario");
+
+		usuarioRepository.count();
+
+		assertThat(leituras("primario")).isGreaterThan(antes);
+	}
+
+	@Test
+	void qualquerEscritaConfirmadaMarcaASessao() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		// Cadastro não publica evento de pedido
+		clienteService.cadastrarCliente(
+				"replica@rsalgados.com", "senha", "Cliente Réplica", "84999990050", "Rua das Coxinhas, 50");
+		double antes = leituras("primario");
+
+		usuarioRepository.count();
+
+		assertThat(leituras("primario")).isGreaterThan(antes);
+	}
+
+	@Test
+	void leituraForcadaVaiParaOPrimarioForaDeRequisicao() {
+		double antes = leituras("primario");
+
+		RoteamentoLeituraDataSource.lerDoPrimario(usuarioRepository::count);
+
+		assertThat(leituras("primario")).isGreaterThan(antes);
+	}
+
+	private double leituras(String destino) {
+		return registry.get("datasource.leituras").tag("destino", destino).counter().count();
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.domain.usuarios.Role;
+import com.salgados.RSalgados.dto.pedidos.CriarItemPedidoDTO;
+import com.salgados.RSalgados.dto.produtos.SalvarProdutoDTO;
+import com.salgados.RSalgados.dto.usuarios.UsuarioAutenticado;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+
+/**
+ * Dados comuns aos testes de pedidos: produtos no catálogo, itens e o
+ * cliente autenticado no contexto de segurança.
+ */
+public final class DadosTeste {
+
+	/** Preço dos produtos criados sem preço explícito. */
+	public static final String PRECO_PADRAO = "1.50";
+
+	private DadosTeste() {
+	}
+
+	/**
+	 * @return ID de um produto novo, ativo, a {@value #PRECO_PADRAO}
+	 */
+	public static Long produto(ProdutoService produtoService, String nome) {
+		return produto(produtoService, nome, PRECO_PADRAO);
+	}
+
+	/**
+	 * @return ID de um produto novo, ativo
+	 */
+	public static Long produto(ProdutoService produtoService, String nome, String preco) {
+		SalvarProdutoDTO produto = new SalvarProdutoDTO();
+		produto.setNome(nome);
+		produto.setPreco(new BigDecimal(preco));
+		return produtoService.criar(produto).id();
+	}
+
+	public static CriarItemPedidoDTO item(Long produtoId, int quantidade) {
+		CriarItemPedidoDTO item = new CriarItemPedidoDTO();
+		item.setProdutoId(produtoId);
+		item.setQuantidade(quantidade);
+		return item;
+	}
+
+	/**
+	 * Autentica o cliente na thread atual, como faz o login pelo formulário.
+	 */
+	public static void autenticar(Cliente cliente) {
+		UsuarioAutenticado principal = new UsuarioAutenticado(
+				cliente.getUsuario().getId(), cliente.getId(), Role.CLIENTE, cliente.getUsuario().getEmail(), "", true);
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+	}
+}
@@ -0,0 +1,108 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.service.ExportacaoPedidosService.Formato;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exporta 1 milhão de linhas com heap de 256 MB (perfil Maven {@code carga}).
+ * 
+ * <p>O banco fica em arquivo, para os dados não ocuparem o heap da JVM de teste.
+ */
+@Tag("carga")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:file:./target/carga/rsalgados;CACHE_SIZE=8192",
+		"spring.jpa.show-sql=false"
+})
+class ExportacaoPedidosCargaTests {
+
+	private static final int PEDIDOS = 100_000;
+	private static final int ITENS_POR_PEDIDO = 10;
+	private static final int TAMANHO_LOTE = 5_000;
+
+	@Autowired
+	private ExportacaoPedidosService exportacaoPedidosService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void exportaUmMilhaoDeLinhasComMemoriaConstante() throws IOException {
+		assumeTrue(Runtime.getRuntime().maxMemory() <= 512L * 1024 * 1024, "rode com -Pcarga (heap fixo e pequeno)");
+
+		Cliente cliente = clienteService.cadastrarCliente(
+				"carga@rsalgados.com", "senha", "Cliente Carga", "84999990099", "Rua do Atacado, 1000");
+		Instant inicio = Instant.parse("2026-01-01T00:00:00Z");
+		popular(cliente.getId(), inicio);
+
+		ContadorBytes saida = new ContadorBytes();
+		long exportadas = exportacaoPedidosService.exportar(
+				inicio, inicio.plusSeconds(PEDIDOS), Formato.CSV, true, saida);
+
+		assertThat(exportadas).isEqualTo((long) PEDIDOS * ITENS_POR_PEDIDO);
+		assertThat(saida.bytes).isPositive();
+	}
+
+	private void popular(UUID clienteId, Instant inicio) {
+		List<Object[]> pedidos = new ArrayList<>(TAMANHO_LOTE);
+		List<Object[]> itens = new ArrayList<>(TAMANHO_LOTE * ITENS_POR_PEDIDO);
+		for (int p = 0; p < PEDIDOS; p++) {
+			UUID pedidoId = UUID.randomUUID();
+			OffsetDateTime data = OffsetDateTime.ofInstant(inicio.plusSeconds(p), ZoneOffset.UTC);
+			pedidos.add(new Object[]{pedidoId, data, data, clienteId});
+			for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+				itens.add(new Object[]{UUID.randomUUID(), pedidoId, "Salgado " + i});
+			}
+			if (pedidos.size() == TAMANHO_LOTE) {
+				gravar(pedidos, itens);
+			}
+		}
+		gravar(pedidos, itens);
+	}
+
+	private void gravar(List<Object[]> pedidos, List<Object[]> itens) {
+		jdbcTemplate.batchUpdate("""
+				insert into pedido (id, data_pedido, atualizado_em, cliente_id, valor_total, pago, status_pedido, versao)
+				values (?, ?, ?, ?, 15.00, false, 'CRIADO', 0)
+				""", pedidos);
+		jdbcTemplate.batchUpdate(
+				"insert into item_pedido (id, id_pedido, descricao, quantidade, preco_unitario) values (?, ?, ?, 1, 1.50)",
+				itens);
+		pedidos.clear();
+		itens.clear();
+	}
+
+	/** Descarta a saída, contando só os bytes. */
+	private static final class ContadorBytes extends OutputStream {
+		private long bytes;
+
+		@Override
+		public void write(int b) {
+			bytes++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			bytes += len;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.dto.pedidos.CriarPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.service.ExportacaoPedidosService.Formato;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.salgados.RSalgados.service.DadosTeste.item;
+import static com.salgados.RSalgados.service.DadosTeste.produto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ExportacaoPedidosServiceTests {
+
+	@Autowired
+	private ExportacaoPedidosService exportacaoPedidosService;
+
+	@Autowired
+	private PedidoServiceImpl pedidoService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private ProdutoService produtoService;
+
+	@Test
+	void exportaUmaLinhaPorItemEmCsvENdjson() throws IOException {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"exportacao@rsalgados.com", "senha", "Cliente Exportação", "84999990020", "Rua das Tortas, 1");
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(
+				item(produto(produtoService, "Coxinha"), 2), item(produto(produtoService, "Kibe, \"grande\""), 1))));
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+		Instant desde = Instant.now().minus(Duration.ofMinutes(1));
+		Instant ate = Instant.now().plus(Duration.ofMinutes(1));
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		exportacaoPedidosService.exportar(desde, ate, Formato.CSV, false, csv);
+		List<String> linhasCsv = csv.toString(StandardCharsets.UTF_8).lines().toList();
+
+		assertThat(linhasCsv.get(0)).startsWith("pedido_id,data_pedido,");
+		assertThat(linhasCsv).filteredOn(linha -> linha.startsWith(pedido.id().toString())).hasSize(2)
+				.anySatisfy(linha -> assertThat(linha).contains(",\"Kibe, \"\"grande\"\"\",1,1.50,1.50"));
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		exportacaoPedidosService.exportar(desde, ate, Formato.NDJSON, true, ndjson);
+		String descomprimido;
+		try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(ndjson.toByteArray()))) {
+			descomprimido = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+		}
+
+		assertThat(descomprimido.lines()).filteredOn(linha -> linha.contains(pedido.id().toString())).hasSize(2)
+				.allSatisfy(linha -> assertThat(linha).startsWith("{").endsWith("}"));
+	}
+
+	@Test
+	void campoQueLembraFormulaViraTexto() {
+		assertThat(ExportacaoPedidosService.campoCsv("=HYPERLINK(\"x\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+		assertThat(ExportacaoPedidosService.campoCsv("Pastel")).isEqualTo("Pastel");
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.idempotencia.RegistroIdempotencia;
+import com.salgados.RSalgados.repository.RegistroIdempotenciaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class IdempotenciaServiceTests {
+
+	@Autowired
+	private IdempotenciaService idempotenciaService;
+
+	@Autowired
+	private RegistroIdempotenciaRepository registroRepository;
+
+	@Autowired
+	private JsonMapper jsonMapper;
+
+	@Test
+	void repeticaoComMesmaChaveNaoExecutaDeNovo() {
+		AtomicInteger execucoes = new AtomicInteger();
+		String chave = UUID.randomUUID().toString();
+
+		UUID primeira = idempotenciaService.executar("teste", chave, UUID.class, () -> {
+			execucoes.incrementAndGet();
+			return UUID.randomUUID();
+		});
+		UUID repetida = idempotenciaService.executar("teste", chave, UUID.class, () -> {
+			execucoes.incrementAndGet();
+			return UUID.randomUUID();
+		});
+
+		assertThat(repetida).isEqualTo(primeira);
+		assertThat(execucoes).hasValue(1);
+	}
+
+	@Test
+	void respostaGravadaNoBancoAtendeOutraInstancia() {
+		String chave = UUID.randomUUID().toString();
+		UUID primeira = idempotenciaService.executar("teste", chave, UUID.class, UUID::randomUUID);
+
+		// Instância nova, sem nada em memória: só o banco conhece a chave
+		IdempotenciaService outraInstancia = new IdempotenciaService(
+				registroRepository, jsonMapper, Duration.ofHours(1), Duration.ofMinutes(1), 10);
+		UUID repetida = outraInstancia.executar("teste", chave, UUID.class, UUID::randomUUID);
+
+		assertThat(repetida).isEqualTo(primeira);
+	}
+
+	@Test
+	void reservaAbandonadaVenceAntesDoPrazoDaResposta() {
+		String chave = UUID.randomUUID().toString();
+		Instant agora = Instant.now();
+
+		// Instância que caiu no meio da operação: reserva sem resposta
+		RegistroIdempotencia abandonada = new RegistroIdempotencia();
+		abandonada.setChave("teste:" + chave);
+		abandonada.setCriadoEm(agora.minus(Duration.ofMinutes(2)));
+		abandonada.setExpiraEm(agora.minus(Duration.ofMinutes(1)));
+		registroRepository.saveAndFlush(abandonada);
+
+		UUID resposta = UUID.randomUUID();
+		assertThat(idempotenciaService.executar("teste", chave, UUID.class, () -> resposta)).isEqualTo(resposta);
+		assertThat(registroRepository.findById("teste:" + chave)).get()
+				.satisfies(registro -> assertThat(registro.getResposta()).isNotNull());
+	}
+
+	@Test
+	void falhaNaoGuardaResposta() {
+		String chave = UUID.randomUUID().toString();
+
+		assertThatThrownBy(() -> idempotenciaService.executar("teste", chave, UUID.class, () -> {
+			throw new IllegalStateException("falhou");
+		})).isInstanceOf(IllegalStateException.class);
+
+		UUID resposta = UUID.randomUUID();
+		assertThat(idempotenciaService.executar("teste", chave, UUID.class, () -> resposta)).isEqualTo(resposta);
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.dto.pedidos.ImportacaoPedidosDTO;
+import com.salgados.RSalgados.dto.pedidos.StatusImportacao;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.salgados.RSalgados.service.DadosTeste.produto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ImportacaoPedidosServiceTests {
+
+	@Autowired
+	private ImportacaoPedidosService importacaoPedidosService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private ProdutoService produtoService;
+
+	@Test
+	void importaPedidosValidosERejeitaOPedidoComLinhaInvalida() throws Exception {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"importacao@rsalgados.com", "senha", "Cliente Importação", "84999990030", "Rua dos Croquetes, 9");
+		Long coxinha = produto(produtoService, "Coxinha da importação");
+		Long kibe = produto(produtoService, "Kibe da importação", "2.00");
+		String csv = String.join("\n",
+				"pedido;produto_id;quantidade",
+				"A;" + coxinha + ";10",
+				"A;\"" + kibe + "\";5",
+				"B;" + kibe + ";0",
+				"B;" + coxinha + ";2",
+				"C;" + kibe + ";3",
+				"A;" + coxinha + ";1");
+
+		ImportacaoPedidosDTO importacao = importacaoPedidosService.iniciar(cliente.getId(),
+				new MockMultipartFile("arquivo", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+		for (int i = 0; i < 100 && importacao.status() == StatusImportacao.EM_ANDAMENTO; i++) {
+			Thread.sleep(50);
+			importacao = importacaoPedidosService.consultar(importacao.id(), cliente.getId());
+		}
+
+		assertThat(importacao.status()).isEqualTo(StatusImportacao.CONCLUIDA);
+		assertThat(importacao.linhasLidas()).isEqualTo(6);
+		assertThat(importacao.pedidosCriados()).isEqualTo(2);
+		assertThat(importacao.itensCriados()).isEqualTo(3);
+		// B tem quantidade zero; A reaparece depois de outro pedido
+		assertThat(importacao.pedidosRejeitados()).isEqualTo(2);
+		assertThat(importacao.erros()).extracting(e -> e.linha()).containsExactly(4L, 7L);
+		assertThat(importacao.erros().get(0).mensagem()).contains("Quantidade");
+	}
+
+	@Test
+	void produtoForaDoCatalogoRejeitaOPedido() throws Exception {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"importacao-produto@rsalgados.com", "senha", "Cliente Produto", "84999990032", "Rua dos Croquetes, 11");
+		Long coxinha = produto(produtoService, "Coxinha importada");
+		String csv = String.join("\n",
+				"pedido,produto_id,quantidade",
+				"A," + coxinha + ",2",
+				"B,999999999,1");
+
+		ImportacaoPedidosDTO importacao = importacaoPedidosService.iniciar(cliente.getId(),
+				new MockMultipartFile("arquivo", "pedidos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+		for (int i = 0; i < 100 && importacao.status() == StatusImportacao.EM_ANDAMENTO; i++) {
+			Thread.sleep(50);
+			importacao = importacaoPedidosService.consultar(importacao.id(), cliente.getId());
+		}
+
+		assertThat(importacao.status()).isEqualTo(StatusImportacao.CONCLUIDA);
+		assertThat(importacao.pedidosCriados()).isEqualTo(1);
+		assertThat(importacao.erros()).singleElement().satisfies(e -> {
+			assertThat(e.linha()).isEqualTo(3);
+			assertThat(e.mensagem()).contains("catálogo");
+		});
+	}
+
+	@Test
+	void cabecalhoInesperadoEncerraSemCriarPedidos() throws Exception {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"importacao-cabecalho@rsalgados.com", "senha", "Cliente Cabeçalho", "84999990031", "Rua dos Croquetes, 10");
+
+		ImportacaoPedidosDTO importacao = importacaoPedidosService.iniciar(cliente.getId(),
+				new MockMultipartFile("arquivo", "pedidos.csv", "text/csv",
+						"nome,valor\nCoxinha,1.50".getBytes(StandardCharsets.UTF_8)));
+		for (int i = 0; i < 100 && importacao.status() == StatusImportacao.EM_ANDAMENTO; i++) {
+			Thread.sleep(50);
+			importacao = importacaoPedidosService.consultar(importacao.id(), cliente.getId());
+		}
+
+		assertThat(importacao.status()).isEqualTo(StatusImportacao.CONCLUIDA);
+		assertThat(importacao.pedidosCriados()).isZero();
+		assertThat(importacao.erros()).singleElement().satisfies(e -> assertThat(e.linha()).isEqualTo(1));
+	}
+
+}
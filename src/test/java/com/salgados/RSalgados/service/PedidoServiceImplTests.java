@@ -0,0 +1,344 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.pedidos.ItemPedido;
+import com.salgados.RSalgados.domain.pedidos.Pedido;
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.domain.produtos.Produto;
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.dto.pedidos.CriarItemPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.CriarPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.OperacaoItemDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.ResultadoLoteItensDTO;
+import com.salgados.RSalgados.dto.pedidos.ResultadoOperacaoItemDTO;
+import com.salgados.RSalgados.dto.pedidos.TipoOperacaoItem;
+import com.salgados.RSalgados.dto.produtos.ProdutoDTO;
+import com.salgados.RSalgados.dto.produtos.SalvarProdutoDTO;
+import com.salgados.RSalgados.metricas.ContadorStatementsJdbc;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.salgados.RSalgados.service.DadosTeste.autenticar;
+import static com.salgados.RSalgados.service.DadosTeste.produto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PedidoServiceImplTests {
+
+	@Autowired
+	private PedidoServiceImpl pedidoService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private ProdutoService produtoService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void limparAutenticacao() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void criarPedidoComCinquentaItensEnviaItensEmLote() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"lote@rsalgados.com", "senha", "Cliente Lote", "84999990000", "Rua das Coxinhas, 50");
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>());
+		Long salgado = produto(produtoService, "Salgado sortido");
+		for (int i = 0; i < 50; i++) {
+			dto.getItens().add(item(null, salgado, 2));
+		}
+
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		long statementsAntes = ContadorStatementsJdbc.atual();
+
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+
+		assertThat(pedido.itens()).hasSize(50);
+		assertThat(pedido.valorTotal()).isEqualByComparingTo("150.00");
+		assertThat(estatisticas.getEntityStatistics(Pedido.class.getName()).getInsertCount()).isEqualTo(1);
+		assertThat(estatisticas.getEntityStatistics(ItemPedido.class.getName()).getInsertCount()).isEqualTo(50);
+		// SELECT do cliente + INSERT do pedido + um único lote com os 50 itens + INSERT na outbox,
+		// contados na thread do teste: os jobs agendados usam o mesmo SessionFactory
+		assertThat(ContadorStatementsJdbc.atual() - statementsAntes).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void atualizarPedidoGravaApenasOsItensAlterados() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"edicao@rsalgados.com", "senha", "Cliente Edição", "84999990001", "Rua das Empadas, 40");
+		autenticar(cliente);
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>());
+		Long salgado = produto(produtoService, "Salgado de festa");
+		for (int i = 0; i < 40; i++) {
+			dto.getItens().add(item(null, salgado, 1));
+		}
+		PedidoDTO criado = pedidoService.criarPedido(dto);
+
+		// Altera a quantidade do primeiro, remove o último e adiciona um novo
+		CriarPedidoDTO edicao = new CriarPedidoDTO();
+		edicao.setItens(new ArrayList<>(criado.itens().stream()
+				.map(i -> item(i.id(), null, i.quantidade()))
+				.toList()));
+		edicao.getItens().get(0).setQuantidade(3);
+		edicao.getItens().remove(edicao.getItens().size() - 1);
+		edicao.getItens().add(item(null, salgado, 2));
+
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+
+		pedidoService.atualizarPedido(criado.id(), edicao);
+
+		EntityStatistics itens = estatisticas.getEntityStatistics(ItemPedido.class.getName());
+		assertThat(itens.getUpdateCount()).isEqualTo(1);
+		assertThat(itens.getInsertCount()).isEqualTo(1);
+		assertThat(itens.getDeleteCount()).isEqualTo(1);
+
+		PedidoDTO atualizado = pedidoService.buscarPorId(criado.id());
+		assertThat(atualizado.itens()).hasSize(40);
+		// 38 x 1,50 + 3 x 1,50 + 2 x 1,50
+		assertThat(atualizado.valorTotal()).isEqualByComparingTo("64.50");
+	}
+
+	@Test
+	void loteDeItensComOperacaoInvalidaNaoAplicaNada() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"lote-itens@rsalgados.com", "senha", "Cliente Lote Itens", "84999990002", "Rua dos Pastéis, 12");
+		autenticar(cliente);
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(item(null, produto(produtoService, "Coxinha"), 2), item(null, produto(produtoService, "Kibe"), 1))));
+		PedidoDTO criado = pedidoService.criarPedido(dto);
+		UUID coxinha = criado.itens().get(0).id();
+
+		OperacaoItemDTO atualizar = operacao(TipoOperacaoItem.ATUALIZAR, coxinha, 5);
+		OperacaoItemDTO adicionar = operacao(TipoOperacaoItem.ADICIONAR, null, 0);
+		adicionar.setProdutoId(produto(produtoService, "Empada"));
+
+		ResultadoLoteItensDTO rejeitado = pedidoService.aplicarOperacoesItens(criado.id(), List.of(atualizar, adicionar));
+
+		assertThat(rejeitado.aplicado()).isFalse();
+		assertThat(rejeitado.operacoes()).extracting(ResultadoOperacaoItemDTO::sucesso).containsExactly(true, false);
+		assertThat(pedidoService.buscarPorId(criado.id()).valorTotal()).isEqualByComparingTo("4.50");
+
+		adicionar.setQuantidade(4);
+		ResultadoLoteItensDTO aplicado = pedidoService.aplicarOperacoesItens(criado.id(), List.of(atualizar, adicionar));
+
+		assertThat(aplicado.aplicado()).isTrue();
+		// 5 x 1,50 + 1 x 1,50 + 4 x 1,50
+		assertThat(aplicado.valorTotal()).isEqualByComparingTo("15.00");
+		assertThat(aplicado.operacoes().get(1).item().id()).isNotNull();
+	}
+
+	@Test
+	void subtotalDoItemAcompanhaAAlteracaoDeQuantidade() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"subtotal@rsalgados.com", "senha", "Cliente Subtotal", "84999990006", "Rua dos Enroladinhos, 6");
+		autenticar(cliente);
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(item(null, produto(produtoService, "Coxinha"), 2))));
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+		UUID itemId = pedido.itens().get(0).id();
+		// Carrega pedido e itens no contexto/cache antes da alteração
+		pedidoService.buscarPorId(pedido.id());
+
+		assertThat(pedidoService.atualizarItem(pedido.id(), itemId, item(itemId, null, 5)).subtotal())
+				.isEqualByComparingTo("7.50");
+		assertThat(pedidoService.buscarPorId(pedido.id()).itens().get(0).subtotal()).isEqualByComparingTo("7.50");
+	}
+
+	@Test
+	void etagDoPedidoMudaSoQuandoOPedidoEAlterado() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"etag@rsalgados.com", "senha", "Cliente ETag", "84999990004", "Rua dos Quibes, 3");
+		autenticar(cliente);
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(item(null, produto(produtoService, "Coxinha"), 2))));
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+
+		String etagPedido = pedidoService.calcularEtagPedido(pedido.id());
+		String etagListagem = pedidoService.calcularEtagListagem();
+		assertThat(pedidoService.calcularEtagPedido(pedido.id())).isEqualTo(etagPedido);
+		assertThat(pedidoService.calcularEtagListagem()).isEqualTo(etagListagem);
+
+		pedidoService.adicionarItem(pedido.id(), item(null, produto(produtoService, "Empada"), 1));
+
+		assertThat(pedidoService.calcularEtagPedido(pedido.id())).isNotEqualTo(etagPedido);
+		assertThat(pedidoService.calcularEtagListagem()).isNotEqualTo(etagListagem);
+	}
+
+	@Test
+	void itemDoCatalogoUsaOPrecoDoCatalogoSemConsultarProdutos() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"catalogo@rsalgados.com", "senha", "Cliente Catálogo", "84999990005", "Rua das Coxinhas, 8");
+		SalvarProdutoDTO coxinha = new SalvarProdutoDTO();
+		coxinha.setNome("Coxinha de frango");
+		coxinha.setPreco(new BigDecimal("2.25"));
+		ProdutoDTO produto = produtoService.criar(coxinha);
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		CriarItemPedidoDTO item = item(null, produto.id(), 4);
+		item.setDescricao("Coxinha grátis");
+		item.setValorUnitario(BigDecimal.ZERO);
+		dto.setItens(new ArrayList<>(List.of(item)));
+
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+
+		assertThat(pedido.itens()).singleElement().satisfies(i -> {
+			assertThat(i.descricao()).isEqualTo("Coxinha de frango");
+			assertThat(i.precoUnitario()).isEqualByComparingTo("2.25");
+		});
+		assertThat(pedido.valorTotal()).isEqualByComparingTo("9.00");
+		assertThat(estatisticas.getEntityStatistics(Produto.class.getName()).getLoadCount()).isZero();
+
+		// O preço novo vale para os pedidos seguintes assim que a alteração é confirmada
+		coxinha.setPreco(new BigDecimal("2.50"));
+		produtoService.atualizar(produto.id(), coxinha);
+		dto.setItens(new ArrayList<>(List.of(item(null, produto.id(), 2))));
+
+		assertThat(pedidoService.criarPedido(dto).valorTotal()).isEqualByComparingTo("5.00");
+	}
+
+	@Test
+	void clienteNaoDefinePrecoNemReprecificaItensGravados() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"preco@rsalgados.com", "senha", "Cliente Preço", "84999990007", "Rua das Empadas, 9");
+		autenticar(cliente);
+
+		CriarPedidoDTO avulso = new CriarPedidoDTO();
+		avulso.setClienteId(cliente.getId());
+		CriarItemPedidoDTO semProduto = item(null, null, 10);
+		semProduto.setDescricao("Coxinha");
+		semProduto.setValorUnitario(new BigDecimal("0.01"));
+		avulso.setItens(new ArrayList<>(List.of(semProduto)));
+		assertThatThrownBy(() -> pedidoService.criarPedido(avulso))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Produto é obrigatório");
+
+		SalvarProdutoDTO empada = new SalvarProdutoDTO();
+		empada.setNome("Empada de palmito");
+		empada.setPreco(new BigDecimal("3.00"));
+		Long produtoId = produtoService.criar(empada).id();
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(item(null, produtoId, 2))));
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+		UUID itemId = pedido.itens().get(0).id();
+
+		// Preço novo e produto desativado não mexem no item já gravado
+		empada.setPreco(new BigDecimal("4.00"));
+		produtoService.atualizar(produtoId, empada);
+		produtoService.desativar(produtoId);
+
+		CriarItemPedidoDTO edicao = item(itemId, produtoId, 3);
+		edicao.setDescricao("Empada");
+		edicao.setValorUnitario(new BigDecimal("0.01"));
+		assertThat(pedidoService.atualizarItem(pedido.id(), itemId, edicao)).satisfies(i -> {
+			assertThat(i.descricao()).isEqualTo("Empada de palmito");
+			assertThat(i.precoUnitario()).isEqualByComparingTo("3.00");
+		});
+		assertThat(pedidoService.buscarPorId(pedido.id()).valorTotal()).isEqualByComparingTo("9.00");
+	}
+
+	@Test
+	void pedidoFinalizadoEPagoEmCacheNaoConsultaOBanco() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"cache@rsalgados.com", "senha", "Cliente Cache", "84999990003", "Rua das Esfihas, 7");
+		autenticar(cliente);
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(item(null, produto(produtoService, "Coxinha"), 2), item(null, produto(produtoService, "Kibe"), 1))));
+		PedidoDTO criado = pedidoService.criarPedido(dto);
+		for (StatusPedido status : List.of(StatusPedido.EM_PRODUCAO, StatusPedido.PRONTO,
+				StatusPedido.PARA_ENTREGAR, StatusPedido.FINALIZADO)) {
+			pedidoService.alterarStatus(criado.id(), status);
+		}
+		pedidoService.marcarComoPago(criado.id());
+		// Primeira leitura coloca pedido e itens no cache, se ainda não estiverem
+		pedidoService.buscarPorId(criado.id());
+
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+
+		PedidoDTO pedido = pedidoService.buscarPorId(criado.id());
+
+		assertThat(pedido.itens()).hasSize(2);
+		assertThat(pedido.valorTotal()).isEqualByComparingTo("4.50");
+		assertThat(estatisticas.getPrepareStatementCount()).isZero();
+		assertThat(estatisticas.getSecondLevelCacheHitCount()).isPositive();
+	}
+
+	@Test
+	void pedidoEmAbertoNaoSaiDoCacheMesmoAlteradoPorOutraInstancia() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"cache-aberto@rsalgados.com", "senha", "Cliente Cache Aberto", "84999990007", "Rua das Bolinhas, 8");
+		autenticar(cliente);
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(item(null, produto(produtoService, "Bolinha de queijo"), 2))));
+		PedidoDTO criado = pedidoService.criarPedido(dto);
+		pedidoService.buscarPorId(criado.id());
+
+		// Escrita direta no banco, como a de outra instância: o cache local não é invalidado
+		jdbcTemplate.update("update pedido set valor_total = 99 where id = ?", criado.id());
+
+		assertThat(pedidoService.buscarPorId(criado.id()).valorTotal()).isEqualByComparingTo("99");
+	}
+
+	private static OperacaoItemDTO operacao(TipoOperacaoItem tipo, UUID itemId, int quantidade) {
+		OperacaoItemDTO operacao = new OperacaoItemDTO();
+		operacao.setTipo(tipo);
+		operacao.setItemId(itemId);
+		operacao.setQuantidade(quantidade);
+		return operacao;
+	}
+
+	private static CriarItemPedidoDTO item(UUID id, Long produtoId, int quantidade) {
+		CriarItemPedidoDTO item = new CriarItemPedidoDTO();
+		item.setId(id);
+		item.setProdutoId(produtoId);
+		item.setQuantidade(quantidade);
+		return item;
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.salgados.RSalgados.service;
+
+import com.salgados.RSalgados.domain.pedidos.StatusPedido;
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.dto.pedidos.CriarPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.ItemPreparoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.salgados.RSalgados.service.DadosTeste.autenticar;
+import static com.salgados.RSalgados.service.DadosTeste.item;
+import static com.salgados.RSalgados.service.DadosTeste.produto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PreparoProducaoServiceTests {
+
+	@Autowired
+	private PreparoProducaoService preparoProducaoService;
+
+	@Autowired
+	private PedidoServiceImpl pedidoService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private ProdutoService produtoService;
+
+	@AfterEach
+	void limparAutenticacao() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void contadoresAcompanhamItensEStatusSemReconciliar() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"preparo@rsalgados.com", "senha", "Cliente Preparo", "84999990040", "Rua das Coxinhas, 40");
+		autenticar(cliente);
+
+		Long coxinha = produto(produtoService, "Coxinha do preparo");
+		Long kibe = produto(produtoService, "Kibe do preparo");
+		Long empada = produto(produtoService, "Empada do preparo");
+
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>(List.of(item(coxinha, 3), item(kibe, 2))));
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+
+		assertThat(preparo("Coxinha do preparo")).isEqualTo(new ItemPreparoDTO("Coxinha do preparo", 3, 0, 3));
+
+		pedidoService.alterarStatus(pedido.id(), StatusPedido.EM_PRODUCAO);
+		pedidoService.adicionarItem(pedido.id(), item(coxinha, 2));
+
+		assertThat(preparo("Coxinha do preparo")).isEqualTo(new ItemPreparoDTO("Coxinha do preparo", 0, 5, 5));
+		assertThat(preparo("Kibe do preparo")).isEqualTo(new ItemPreparoDTO("Kibe do preparo", 0, 2, 2));
+
+		// Trocar o produto de um item move as unidades para o nome novo
+		pedidoService.atualizarItem(pedido.id(), pedido.itens().get(1).id(), item(empada, 4));
+
+		assertThat(preparo("Kibe do preparo")).isNull();
+		assertThat(preparo("Empada do preparo")).isEqualTo(new ItemPreparoDTO("Empada do preparo", 0, 4, 4));
+
+		pedidoService.alterarStatus(pedido.id(), StatusPedido.PRONTO);
+
+		assertThat(preparo("Coxinha do preparo")).isNull();
+
+		// A reconciliação com o GROUP BY não encontra nada a corrigir nestes itens
+		preparoProducaoService.reconciliar();
+		assertThat(preparo("Coxinha do preparo")).isNull();
+		assertThat(preparo("Kibe do preparo")).isNull();
+		assertThat(preparo("Empada do preparo")).isNull();
+	}
+
+	private ItemPreparoDTO preparo(String descricao) {
+		return preparoProducaoService.consultar().itens().stream()
+				.filter(item -> item.descricao().equals(descricao))
+				.findFirst()
+				.orElse(null);
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.salgados.RSalgados.service.eventos;
+
+import com.salgados.RSalgados.domain.eventos.EventoOutbox;
+import com.salgados.RSalgados.repository.EventoOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "rsalgados.outbox.lote-limpeza=2")
+class EventoOutboxDispatcherTests {
+
+	@Autowired
+	private EventoOutboxDispatcher dispatcher;
+
+	@Autowired
+	private EventoOutboxRepository eventoOutboxRepository;
+
+	@Test
+	void limpezaApagaEmLotesSoOsProcessadosForaDaRetencao() {
+		Instant agora = Instant.now();
+		List<Long> antigos = List.of(
+				gravar(agora.minus(Duration.ofDays(10))),
+				gravar(agora.minus(Duration.ofDays(9))),
+				gravar(agora.minus(Duration.ofDays(8))));
+		Long recente = gravar(agora.minus(Duration.ofDays(1)));
+		Long pendente = gravar(null);
+
+		// Três eventos vencidos com lotes de dois: a limpeza precisa de mais de um lote
+		assertThat(dispatcher.limparProcessados()).isGreaterThanOrEqualTo(3);
+
+		assertThat(eventoOutboxRepository.findAllById(antigos)).isEmpty();
+		assertThat(eventoOutboxRepository.existsById(recente)).isTrue();
+		assertThat(eventoOutboxRepository.existsById(pendente)).isTrue();
+	}
+
+	private Long gravar(Instant processadoEm) {
+		EventoOutbox evento = new EventoOutbox();
+		evento.setTipo("PedidoPago");
+		evento.setPedidoId(UUID.randomUUID());
+		evento.setPayload("{}");
+		evento.setCriadoEm(processadoEm != null ? processadoEm : Instant.now());
+		evento.setProcessadoEm(processadoEm);
+		return eventoOutboxRepository.save(evento).getId();
+	}
+}
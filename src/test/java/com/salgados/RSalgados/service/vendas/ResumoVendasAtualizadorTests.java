@@ -0,0 +1,164 @@
+package com.salgados.RSalgados.service.vendas;
+
+import com.salgados.RSalgados.domain.usuarios.Cliente;
+import com.salgados.RSalgados.dto.pedidos.CriarItemPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.CriarPedidoDTO;
+import com.salgados.RSalgados.dto.pedidos.PedidoDTO;
+import com.salgados.RSalgados.dto.vendas.ItemVendidoDTO;
+import com.salgados.RSalgados.dto.vendas.PainelVendasDTO;
+import com.salgados.RSalgados.dto.vendas.ReconstrucaoVendasDTO;
+import com.salgados.RSalgados.dto.vendas.VendasDiaDTO;
+import com.salgados.RSalgados.service.ClienteService;
+import com.salgados.RSalgados.service.PedidoServiceImpl;
+import com.salgados.RSalgados.service.produtos.ProdutoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static com.salgados.RSalgados.service.DadosTeste.autenticar;
+import static com.salgados.RSalgados.service.DadosTeste.produto;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ResumoVendasAtualizadorTests {
+
+	@Autowired
+	private ResumoVendasAtualizador resumoVendasAtualizador;
+
+	@Autowired
+	private PainelVendasService painelVendasService;
+
+	@Autowired
+	private PedidoServiceImpl pedidoService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@Autowired
+	private ProdutoService produtoService;
+
+	@AfterEach
+	void limparAutenticacao() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void resumoIncrementalBateComAReconstrucao() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"resumo@rsalgados.com", "senha", "Cliente Resumo", "84999990010", "Rua dos Enroladinhos, 9");
+		autenticar(cliente);
+		LocalDate hoje = LocalDate.now(resumoVendasAtualizador.getFuso());
+
+		// Parte de resumos exatos para o dia, independente dos outros testes
+		resumoVendasAtualizador.agendarReconstrucao(hoje, hoje);
+		resumoVendasAtualizador.gravarPendentes();
+		VendasDiaDTO antes = totalDoDia(painelVendasService.consultar(hoje, hoje, 100));
+
+		String descricao = "Coxinha " + UUID.randomUUID();
+		CriarItemPedidoDTO item = new CriarItemPedidoDTO();
+		item.setProdutoId(produto(produtoService, descricao, "2.50"));
+		item.setQuantidade(4);
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>());
+		dto.getItens().add(item);
+
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+		pedidoService.marcarComoPago(pedido.id());
+		resumoVendasAtualizador.gravarPendentes();
+
+		PainelVendasDTO incremental = painelVendasService.consultar(hoje, hoje, 100);
+		VendasDiaDTO depois = totalDoDia(incremental);
+		assertThat(depois.pedidos()).isEqualTo(antes.pedidos() + 1);
+		assertThat(depois.pedidosPagos()).isEqualTo(antes.pedidosPagos() + 1);
+		assertThat(depois.valorPago()).isEqualByComparingTo(antes.valorPago().add(new BigDecimal("10.00")));
+		assertThat(incremental.maisVendidos())
+				.filteredOn(vendido -> vendido.descricao().equals(descricao))
+				.singleElement()
+				.extracting(ItemVendidoDTO::quantidade)
+				.isEqualTo(4L);
+
+		resumoVendasAtualizador.agendarReconstrucao(hoje, hoje);
+		resumoVendasAtualizador.gravarPendentes();
+
+		assertThat(resumoVendasAtualizador.getReconstrucao().concluida()).isTrue();
+		assertThat(painelVendasService.consultar(hoje, hoje, 100)).isEqualTo(incremental);
+	}
+
+	@Test
+	void trocaDeProdutoMoveAVendaParaONomeNovo() {
+		Cliente cliente = clienteService.cadastrarCliente(
+				"resumo-troca@rsalgados.com", "senha", "Cliente Troca", "84999990011", "Rua dos Enroladinhos, 10");
+		autenticar(cliente);
+		LocalDate hoje = LocalDate.now(resumoVendasAtualizador.getFuso());
+
+		resumoVendasAtualizador.agendarReconstrucao(hoje, hoje);
+		resumoVendasAtualizador.gravarPendentes();
+
+		String coxinha = "Coxinha " + UUID.randomUUID();
+		String kibe = "Kibe " + UUID.randomUUID();
+		Long coxinhaId = produto(produtoService, coxinha, "2.50");
+		CriarItemPedidoDTO item = new CriarItemPedidoDTO();
+		item.setProdutoId(coxinhaId);
+		item.setQuantidade(4);
+		CriarPedidoDTO dto = new CriarPedidoDTO();
+		dto.setClienteId(cliente.getId());
+		dto.setItens(new ArrayList<>());
+		dto.getItens().add(item);
+		PedidoDTO pedido = pedidoService.criarPedido(dto);
+
+		CriarItemPedidoDTO troca = new CriarItemPedidoDTO();
+		troca.setProdutoId(produto(produtoService, kibe, "2.50"));
+		troca.setQuantidade(3);
+		pedidoService.atualizarItem(pedido.id(), pedido.itens().get(0).id(), troca);
+		resumoVendasAtualizador.gravarPendentes();
+
+		PainelVendasDTO incremental = painelVendasService.consultar(hoje, hoje, 100);
+		assertThat(incremental.maisVendidos()).noneMatch(vendido -> vendido.descricao().equals(coxinha));
+		assertThat(incremental.maisVendidos())
+				.filteredOn(vendido -> vendido.descricao().equals(kibe))
+				.singleElement()
+				.extracting(ItemVendidoDTO::quantidade)
+				.isEqualTo(3L);
+
+		resumoVendasAtualizador.agendarReconstrucao(hoje, hoje);
+		resumoVendasAtualizador.gravarPendentes();
+
+		assertThat(painelVendasService.consultar(hoje, hoje, 100)).isEqualTo(incremental);
+	}
+
+	@Test
+	void reconciliacaoReconstroiOsDiasAnterioresSemInterromperOutraReconstrucao() {
+		LocalDate hoje = LocalDate.now(resumoVendasAtualizador.getFuso());
+
+		// Período maior que um ciclo: a reconstrução ainda está em andamento na reconciliação
+		resumoVendasAtualizador.agendarReconstrucao(hoje.minusDays(30), hoje);
+		resumoVendasAtualizador.reconciliarDiasAnteriores();
+		assertThat(resumoVendasAtualizador.getReconstrucao().desde()).isEqualTo(hoje.minusDays(30));
+
+		while (!resumoVendasAtualizador.getReconstrucao().concluida()) {
+			resumoVendasAtualizador.gravarPendentes();
+		}
+		resumoVendasAtualizador.reconciliarDiasAnteriores();
+		ReconstrucaoVendasDTO reconciliacao = resumoVendasAtualizador.getReconstrucao();
+		assertThat(reconciliacao.desde()).isEqualTo(hoje.minusDays(2));
+		assertThat(reconciliacao.ate()).isEqualTo(hoje.minusDays(1));
+
+		resumoVendasAtualizador.gravarPendentes();
+		assertThat(resumoVendasAtualizador.getReconstrucao().concluida()).isTrue();
+	}
+
+	private static VendasDiaDTO totalDoDia(PainelVendasDTO painel) {
+		return painel.dias().isEmpty()
+				? new VendasDiaDTO(painel.desde(), 0, BigDecimal.ZERO, 0, BigDecimal.ZERO)
+				: painel.dias().get(0);
+	}
+
+}